@@ -1,7 +1,10 @@
+import javax.inject.Inject
+
 plugins {
     id("java")
     id("application")
     id("org.graalvm.buildtools.native") version "0.10.2"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.panagiotispetridis"
@@ -18,41 +21,173 @@ dependencies {
     implementation("com.google.ortools:ortools-java:9.10.4067")
 }
 
+tasks.test {
+    useJUnitPlatform()
+    // wall time budgets get three times the recorded time by default, so a real slowdown still fails the build
+    // on slower or busier machines, e.g. ./gradlew test -Pregression.timeScale=1 on the machine they were
+    // recorded on; -Pregression.timeBudgets=false turns them off and says so in the test output
+    systemProperty("regression.timeBudgets", project.findProperty("regression.timeBudgets") ?: "true")
+    systemProperty("regression.timeScale", project.findProperty("regression.timeScale") ?: "3")
+    // measured runs per case, the median is held against the budget
+    systemProperty("regression.runs", project.findProperty("regression.runs") ?: "5")
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    resultFormat.set("JSON")
+    // e.g. ./gradlew jmh -Pjmh.includes=Day4Benchmark
+    if (project.hasProperty("jmh.includes")) {
+        includes.set(listOf(project.property("jmh.includes").toString()))
+    }
+}
+
 application {
-    mainClass.set("com.panagiotispetridis.day12.Main")
+    mainClass.set("com.panagiotispetridis.runner.Main")
 }
 
+// profiles written by nativePgoTrain, fed to nativeCompile when present
+val pgoProfiles = layout.buildDirectory.dir("pgo/profiles")
+
 graalvmNative {
     toolchainDetection = false
 
     binaries {
         named("main") {
-            imageName.set("day12")
+            imageName.set("aoc2025")
+            mainClass.set(application.mainClass)
             fallback.set(false)
-
-            // 🚀 HIGH-PERFORMANCE NATIVE IMAGE OPTIMIZATIONS (by AI)
-            buildArgs.addAll(listOf(
-                "-O3",
-                "--gc=epsilon",
-                "-H:+InlineEverything",
-                "-H:+UnlockExperimentalVMOptions",
-                "-H:Optimize=2",
-                "--enable-preview"
-            ))
+            buildArgs.addAll(listOf("-O3", "--enable-monitoring=jfr"))
+            buildArgs.addAll(pgoProfiles.map { dir ->
+                val profiles = dir.asFile.listFiles { f -> f.extension == "iprof" }?.sorted().orEmpty()
+                if (profiles.isEmpty()) emptyList() else listOf("--pgo=" + profiles.joinToString(","))
+            })
         }
 
-        // Optional: Add PGO
+        // instrumented build of the runner, only used to collect profiles
         create("pgo") {
-            imageName.set("day12-pgo")
+            imageName.set("aoc2025-instrumented")
+            mainClass.set(application.mainClass)
+            classpath(tasks.named("jar"), configurations.named("runtimeClasspath"))
             fallback.set(false)
-            buildArgs.addAll(listOf(
-                "-O3",
-                "--gc=g1",
-                "-H:InlineEverything=true",
-                "-H:Optimize=2",
-                "--enable-preview",
-                "--pgo-instrument"
-            ))
+            buildArgs.addAll(listOf("--pgo-instrument", "--enable-monitoring=jfr"))
+        }
+    }
+
+    // ./gradlew -Pagent run --args="all both" && ./gradlew metadataCopy, the run includes day10 part 2 so the
+    // OR-Tools JNI and resource use is traced, then ./gradlew nativeSmokeTest checks the image built from it.
+    // The jni-config.json and resource-config.json checked in so far were written by hand from the OR-Tools
+    // loader and have not been traced yet, so the copy replaces them rather than merging into them
+    agent {
+        metadataCopy {
+            inputTaskNames.add("run")
+            outputDirectories.add("src/main/resources/META-INF/native-image/com.panagiotispetridis/aoc2025")
+            mergeWithExisting.set(false)
         }
     }
 }
+
+abstract class PgoTrain @Inject constructor(private val exec: ExecOperations) : DefaultTask() {
+
+    @get:InputFile
+    abstract val binary: RegularFileProperty
+
+    @get:Classpath
+    abstract val generatorClasspath: ConfigurableFileCollection
+
+    @get:Input
+    abstract val sizes: MapProperty<Int, String>
+
+    @get:OutputDirectory
+    abstract val workDir: DirectoryProperty
+
+    @get:OutputDirectory
+    abstract val profiles: DirectoryProperty
+
+    @TaskAction
+    fun train() {
+        val inputs = workDir.get().asFile
+        val out = profiles.get().asFile
+        out.listFiles()?.forEach { it.delete() }
+
+        run(File(out, "bundled.iprof"), "all", "both")
+        for ((day, size) in sizes.get().toSortedMap()) {
+            val input = File(inputs, "day$day.in")
+            exec.javaexec {
+                classpath = generatorClasspath
+                mainClass.set("com.panagiotispetridis.generator.Main")
+                args(day, size, 1, input)
+            }
+            run(File(out, "day$day.iprof"), "$day", "both", input.path)
+        }
+    }
+
+    private fun run(profile: File, vararg args: String) {
+        exec.exec {
+            commandLine(listOf(binary.get().asFile.path, "-XX:ProfilesDumpFile=${profile.path}") + args)
+        }
+    }
+}
+
+// ./gradlew nativeOptimizedCompile: instrumented image -> training run over every day -> image built with --pgo
+val nativePgoTrain by tasks.registering(PgoTrain::class) {
+    binary.set(tasks.named<org.graalvm.buildtools.gradle.tasks.BuildNativeImageTask>("nativePgoCompile").flatMap { it.outputFile })
+    generatorClasspath.from(sourceSets.main.map { it.runtimeClasspath })
+    // large enough to be representative, small enough for the slower days to finish in seconds
+    sizes.set(mapOf(
+        1 to "4m", 2 to "1k", 3 to "4m", 4 to "256k", 5 to "4m", 6 to "4m",
+        7 to "64k", 8 to "8k", 9 to "4k", 10 to "4k", 11 to "2k", 12 to "4k"
+    ))
+    workDir.set(layout.buildDirectory.dir("pgo/inputs"))
+    profiles.set(pgoProfiles)
+}
+
+tasks.named("nativeCompile") {
+    mustRunAfter(nativePgoTrain)
+    // every image is checked against the bundled answers, so metadata that misses something fails the build
+    finalizedBy("nativeSmokeTest")
+}
+
+tasks.register("nativeOptimizedCompile") {
+    dependsOn(nativePgoTrain, "nativeCompile")
+}
+
+// runs the image on every bundled input in the regression budgets and checks its answers, day10 part 2
+// only gets its answer if the image loads the OR-Tools natives through the JNI and resource metadata
+abstract class NativeSmokeTest @Inject constructor(private val exec: ExecOperations) : DefaultTask() {
+
+    @get:InputFile
+    abstract val binary: RegularFileProperty
+
+    @get:InputFile
+    abstract val budgets: RegularFileProperty
+
+    @TaskAction
+    fun smoke() {
+        val failures = mutableListOf<String>()
+        val rows = budgets.get().asFile.readLines().drop(1)
+            .filter { it.isNotBlank() }
+            .map { it.split(",") }
+            .filter { it[2] == "bundled" }
+        for ((day, part, _, answer) in rows) {
+            val out = java.io.ByteArrayOutputStream()
+            val result = exec.exec {
+                commandLine(binary.get().asFile.path, day, part)
+                standardOutput = out
+                isIgnoreExitValue = true
+            }
+            val printed = out.toString().trim()
+            if (result.exitValue != 0 || !printed.startsWith("day $day part $part: $answer ")) {
+                failures.add("day $day part $part: expected $answer, got '$printed' (exit ${result.exitValue})")
+            }
+        }
+        if (failures.isNotEmpty()) {
+            throw GradleException("native image answers differ:\n" + failures.joinToString("\n"))
+        }
+    }
+}
+
+// ./gradlew nativeSmokeTest
+val nativeSmokeTest by tasks.registering(NativeSmokeTest::class) {
+    binary.set(tasks.named<org.graalvm.buildtools.gradle.tasks.BuildNativeImageTask>("nativeCompile").flatMap { it.outputFile })
+    budgets.set(layout.projectDirectory.file("src/test/resources/regression/budgets.csv"))
+}
@@ -0,0 +1,22 @@
+package com.panagiotispetridis.benchmark;
+
+import com.panagiotispetridis.runner.Day;
+import com.panagiotispetridis.runner.Days;
+import org.openjdk.jmh.annotations.Param;
+
+public class Day11Benchmark extends PuzzleBenchmark {
+
+    // part 1 grows steeply, 4k already takes 20 seconds a solve
+    @Param({"bundled", "gen:1:2k"})
+    public String input;
+
+    @Override
+    protected Day day() {
+        return Days.get(11);
+    }
+
+    @Override
+    protected String input() {
+        return input;
+    }
+}
@@ -0,0 +1,22 @@
+package com.panagiotispetridis.benchmark;
+
+import com.panagiotispetridis.runner.Day;
+import com.panagiotispetridis.runner.Days;
+import org.openjdk.jmh.annotations.Param;
+
+public class Day12Benchmark extends PuzzleBenchmark {
+
+    // seconds a solve at 64k
+    @Param({"bundled", "gen:1:4k", "gen:1:64k"})
+    public String input;
+
+    @Override
+    protected Day day() {
+        return Days.get(12);
+    }
+
+    @Override
+    protected String input() {
+        return input;
+    }
+}
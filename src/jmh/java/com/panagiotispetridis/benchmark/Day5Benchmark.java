@@ -0,0 +1,21 @@
+package com.panagiotispetridis.benchmark;
+
+import com.panagiotispetridis.runner.Day;
+import com.panagiotispetridis.runner.Days;
+import org.openjdk.jmh.annotations.Param;
+
+public class Day5Benchmark extends PuzzleBenchmark {
+
+    @Param({"bundled", "gen:1:64k", "gen:1:1m"})
+    public String input;
+
+    @Override
+    protected Day day() {
+        return Days.get(5);
+    }
+
+    @Override
+    protected String input() {
+        return input;
+    }
+}
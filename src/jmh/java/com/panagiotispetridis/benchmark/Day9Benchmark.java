@@ -0,0 +1,22 @@
+package com.panagiotispetridis.benchmark;
+
+import com.panagiotispetridis.runner.Day;
+import com.panagiotispetridis.runner.Days;
+import org.openjdk.jmh.annotations.Param;
+
+public class Day9Benchmark extends PuzzleBenchmark {
+
+    // about 20 seconds a solve at 16k
+    @Param({"bundled", "gen:1:4k", "gen:1:16k"})
+    public String input;
+
+    @Override
+    protected Day day() {
+        return Days.get(9);
+    }
+
+    @Override
+    protected String input() {
+        return input;
+    }
+}
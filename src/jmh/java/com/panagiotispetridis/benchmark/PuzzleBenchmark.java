@@ -0,0 +1,72 @@
+package com.panagiotispetridis.benchmark;
+
+import com.panagiotispetridis.common.ByteReader;
+import com.panagiotispetridis.common.Puzzle;
+import com.panagiotispetridis.generator.Generators;
+import com.panagiotispetridis.runner.Day;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public abstract class PuzzleBenchmark {
+
+    @Param({"false", "true"})
+    public boolean part2;
+
+    private byte[] raw;
+
+    // parsed once per trial, solvers leave their input as they found it so every solve sees the same input
+    private Object parsed;
+
+    protected abstract Day day();
+
+    // "bundled" for the input shipped in resources, "gen:<seed>:<size>" (e.g. gen:1:1m) for a generated
+    // input, otherwise a path to an input file. Each day declares its own @Param list, as the sizes a day
+    // can solve in a benchmark iteration differ by orders of magnitude
+    protected abstract String input();
+
+    @Setup(Level.Trial)
+    public void load() throws IOException {
+        String input = input();
+        if (input.startsWith("gen:")) {
+            String[] parts = input.split(":");
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            Generators.generate(day().number(), Long.parseLong(parts[1]), Generators.parseSize(parts[2]), out);
+            raw = out.toByteArray();
+        } else {
+            try (InputStream is = day().reader("bundled".equals(input) ? null : Path.of(input)).stream()) {
+                raw = is.readAllBytes();
+            }
+        }
+        parsed = parse(day().puzzle(), part2, raw);
+    }
+
+    @Benchmark
+    public Object parse() {
+        return parse(day().puzzle(), part2, raw);
+    }
+
+    @Benchmark
+    public Object solve() {
+        return solve(day().puzzle(), part2, parsed);
+    }
+
+    static <I, O> I parse(Puzzle<I, O> puzzle, boolean part2, byte[] raw) {
+        return Day.parse(puzzle, part2, ByteReader.of(raw));
+    }
+
+    @SuppressWarnings("unchecked")
+    static <I, O> O solve(Puzzle<I, O> puzzle, boolean part2, Object parsed) {
+        return puzzle.solver(part2).solve((I) parsed);
+    }
+}
@@ -0,0 +1,13 @@
+package com.panagiotispetridis.common;
+
+public abstract class ByteParser<Input> {
+
+    final protected ByteReader reader;
+
+    public ByteParser(ByteReader reader) {
+        this.reader = reader;
+    }
+
+    public abstract Input parse();
+
+}
@@ -0,0 +1,195 @@
+package com.panagiotispetridis.common;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+
+/**
+ * Cursor over the raw bytes of an input, either memory-mapped from a file or wrapped around a byte[].
+ * Nothing here allocates per token: numbers are parsed straight from the buffer and lines are exposed
+ * as [lineStart, lineEnd) bounds into it.
+ *
+ * A single mapping is limited to 2GB.
+ */
+public final class ByteReader {
+
+    private final ByteBuffer buffer;
+    private final int limit;
+    private int position;
+
+    private int lineStart;
+    private int lineEnd;
+
+    private ByteReader(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.limit = buffer.limit();
+        this.position = 0;
+    }
+
+    public static ByteReader map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new ByteReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public static ByteReader of(byte[] bytes) {
+        return new ByteReader(ByteBuffer.wrap(bytes));
+    }
+
+    // only the first length bytes of the array
+    public static ByteReader of(byte[] bytes, int length) {
+        return new ByteReader(ByteBuffer.wrap(bytes, 0, length));
+    }
+
+    static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    public boolean hasRemaining() {
+        return position < limit;
+    }
+
+    public int position() {
+        return position;
+    }
+
+    public void position(int position) {
+        this.position = position;
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    // read-only view over every byte of the input, independent of the cursor
+    public ByteBuffer bytes() {
+        return buffer.asReadOnlyBuffer().position(0).limit(limit);
+    }
+
+    public byte byteAt(int index) {
+        return buffer.get(index);
+    }
+
+    public byte peek() {
+        return buffer.get(position);
+    }
+
+    public byte next() {
+        return buffer.get(position++);
+    }
+
+    public void skip(int n) {
+        position = Math.min(limit, position + n);
+    }
+
+    // moves to the next occurrence of b (without consuming it), or to the end
+    public int skipUntil(byte b) {
+        position = indexOf(b, position, limit);
+        return position;
+    }
+
+    public int indexOf(byte b, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == b) {
+                return i;
+            }
+        }
+
+        return to;
+    }
+
+    // '-' only counts as a sign when it doesn't directly follow a digit, so "3-5" reads as 3 then 5
+    public long nextLong() {
+        while (position < limit) {
+            byte b = buffer.get(position);
+            if (isDigit(b)) {
+                break;
+            }
+            if (b == '-' && position + 1 < limit && isDigit(buffer.get(position + 1))
+                    && (position == 0 || !isDigit(buffer.get(position - 1)))) {
+                break;
+            }
+            position++;
+        }
+        if (position >= limit) {
+            throw new NoSuchElementException();
+        }
+
+        int start = position;
+        if (buffer.get(position) == '-') {
+            position++;
+        }
+        while (position < limit && isDigit(buffer.get(position))) {
+            position++;
+        }
+
+        return parseLong(start, position);
+    }
+
+    public int nextInt() {
+        return Math.toIntExact(nextLong());
+    }
+
+    public long parseLong(int from, int to) {
+        boolean negative = from < to && buffer.get(from) == '-';
+        long value = 0;
+        for (int i = negative ? from + 1 : from; i < to; i++) {
+            byte b = buffer.get(i);
+            if (!isDigit(b)) {
+                throw new NumberFormatException("unexpected byte '" + (char) b + "' at " + i);
+            }
+            value = value * 10 + (b - '0');
+        }
+
+        return negative ? -value : value;
+    }
+
+    // advances over the next line, its bounds (without the line terminator) are then lineStart()/lineEnd()
+    public boolean nextLine() {
+        if (position >= limit) {
+            return false;
+        }
+        lineStart = position;
+        int end = indexOf((byte) '\n', position, limit);
+        position = Math.min(limit, end + 1);
+        if (end > lineStart && buffer.get(end - 1) == '\r') {
+            end--;
+        }
+        lineEnd = end;
+
+        return true;
+    }
+
+    public int lineStart() {
+        return lineStart;
+    }
+
+    public int lineEnd() {
+        return lineEnd;
+    }
+
+    // view over the remaining bytes for code that still wants a Scanner
+    public InputStream stream() {
+        ByteBuffer view = buffer.duplicate().position(position);
+        return new InputStream() {
+            @Override
+            public int read() {
+                return view.hasRemaining() ? view.get() & 0xff : -1;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                if (!view.hasRemaining()) {
+                    return len == 0 ? 0 : -1;
+                }
+                len = Math.min(len, view.remaining());
+                view.get(b, off, len);
+                return len;
+            }
+        };
+    }
+}
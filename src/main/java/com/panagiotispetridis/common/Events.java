@@ -0,0 +1,17 @@
+package com.panagiotispetridis.common;
+
+import java.lang.management.ManagementFactory;
+
+public final class Events {
+
+    static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private Events() {}
+
+    // bytes allocated so far by the calling thread, deltas of this give per phase allocation
+    public static long allocatedBytes() {
+        return THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+}
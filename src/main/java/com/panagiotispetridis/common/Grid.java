@@ -0,0 +1,14 @@
+package com.panagiotispetridis.common;
+
+// cell access shared by in-memory and memory-mapped grids, at is null outside the grid and set ignores it
+public interface Grid<T> {
+
+    T at(int y, int x);
+
+    void set(int y, int x, T t);
+
+    int width();
+
+    int height();
+
+}
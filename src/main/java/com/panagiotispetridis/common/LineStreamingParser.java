@@ -0,0 +1,61 @@
+package com.panagiotispetridis.common;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Reads the channel through a fixed size buffer and hands every run of complete lines to parseChunk,
+ * which pushes records to the consumer as it finds them. Memory is bounded by the chunk size (or the
+ * longest line) plus whatever state the parser itself keeps between chunks.
+ */
+public abstract class LineStreamingParser<Item> extends StreamingParser<Item> {
+
+    static final int CHUNK_SIZE = 1 << 16;
+
+    public LineStreamingParser(ReadableByteChannel channel) {
+        super(channel);
+    }
+
+    // chunk holds whole lines only, the last chunk may end without a trailing newline
+    protected abstract void parseChunk(ByteReader chunk, Consumer<Item> consumer);
+
+    @Override
+    public void parse(Consumer<Item> consumer) {
+        byte[] buffer = new byte[CHUNK_SIZE];
+        int filled = 0;
+        try {
+            while (true) {
+                if (filled == buffer.length) {
+                    // a single line longer than the buffer
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                int read = channel.read(ByteBuffer.wrap(buffer, filled, buffer.length - filled));
+                if (read < 0) {
+                    break;
+                }
+                filled += read;
+
+                int end = filled;
+                while (end > 0 && buffer[end - 1] != '\n') {
+                    end--;
+                }
+                if (end == 0) {
+                    continue;
+                }
+                parseChunk(ByteReader.of(buffer, end), consumer);
+                System.arraycopy(buffer, end, buffer, 0, filled - end);
+                filled -= end;
+            }
+            if (filled > 0) {
+                parseChunk(ByteReader.of(buffer, filled), consumer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,178 @@
+package com.panagiotispetridis.common;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.IntFunction;
+
+/**
+ * Grid over a memory-mapped puzzle input, one byte per cell: the input text already is that layout, so
+ * the file is mapped as is and rows are found by stride. Tiles are decoded from and encoded back to their
+ * characters, an enum's toString() being its character.
+ *
+ * Rows never straddle mappings, each of which stays under 1GB, so files well beyond 2GB (and the heap)
+ * work as long as a single row fits. A writable grid writes through to the file; otherwise the file is
+ * only opened for reading and writes are refused, so solvers that mutate need a writable copy.
+ */
+public final class MappedGrid<T extends Enum<T>> implements Grid<T> {
+
+    static final int SEGMENT_BYTES = 1 << 30;
+
+    private final MappedByteBuffer[] segments;
+    private final boolean writable;
+    private final int width;
+    private final int height;
+    private final int stride;
+    private final int rowsPerSegment;
+    private final Object[] decode;
+    private final byte[] encode;
+
+    private MappedGrid(MappedByteBuffer[] segments, boolean writable, int width, int height, int stride,
+                       int rowsPerSegment, Object[] decode, byte[] encode) {
+        this.segments = segments;
+        this.writable = writable;
+        this.width = width;
+        this.height = height;
+        this.stride = stride;
+        this.rowsPerSegment = rowsPerSegment;
+        this.decode = decode;
+        this.encode = encode;
+    }
+
+    public static <T extends Enum<T>> MappedGrid<T> open(Path file, boolean writable, Class<T> type,
+                                                         IntFunction<T> fromChar) throws IOException {
+        StandardOpenOption[] options = writable
+                ? new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE}
+                : new StandardOpenOption[]{StandardOpenOption.READ};
+        try (FileChannel channel = FileChannel.open(file, options)) {
+            // trailing blank lines are not rows
+            long size = trimmedSize(channel);
+            int width = lineLength(channel);
+            ByteBuffer terminator = ByteBuffer.allocate(1);
+            channel.read(terminator, width);
+            // "\r\n" or "\n", or nothing for a single unterminated row
+            int newline = width < size && terminator.get(0) == '\r' ? 2 : width < size ? 1 : 0;
+            int stride = width + newline;
+            if (width == 0) {
+                throw new IllegalArgumentException("empty grid: " + file);
+            }
+            // every row but the last is followed by its terminator
+            if ((size + newline) % stride != 0) {
+                throw new IllegalArgumentException("rows of " + file + " are not all " + width + " wide");
+            }
+            long rows = (size + newline) / stride;
+            if (rows > Integer.MAX_VALUE || stride > SEGMENT_BYTES) {
+                throw new IllegalArgumentException("grid too large: " + file);
+            }
+
+            int rowsPerSegment = SEGMENT_BYTES / stride;
+            MappedByteBuffer[] segments = new MappedByteBuffer[(int) ((rows + rowsPerSegment - 1) / rowsPerSegment)];
+            FileChannel.MapMode mode = writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+            for (int i = 0; i < segments.length; i++) {
+                long start = (long) i * rowsPerSegment * stride;
+                segments[i] = channel.map(mode, start, Math.min((long) rowsPerSegment * stride, size - start));
+            }
+
+            T[] constants = type.getEnumConstants();
+            Object[] decode = new Object[256];
+            for (int c = 0; c < decode.length; c++) {
+                decode[c] = fromChar.apply(c);
+            }
+            byte[] encode = new byte[constants.length];
+            for (T constant : constants) {
+                encode[constant.ordinal()] = (byte) constant.toString().charAt(0);
+            }
+
+            return new MappedGrid<>(segments, writable, width, (int) rows, stride, rowsPerSegment, decode, encode);
+        }
+    }
+
+    // size without the line terminators at the end of the file
+    private static long trimmedSize(FileChannel channel) throws IOException {
+        ByteBuffer last = ByteBuffer.allocate(1);
+        long size = channel.size();
+        while (size > 0) {
+            channel.read(last.clear(), size - 1);
+            if (last.get(0) != '\n' && last.get(0) != '\r') {
+                break;
+            }
+            size--;
+        }
+
+        return size;
+    }
+
+    private static int lineLength(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        long position = 0;
+        while (channel.read(buffer, position) > 0) {
+            buffer.flip();
+            for (int i = 0; i < buffer.limit(); i++) {
+                byte b = buffer.get(i);
+                if (b == '\n' || b == '\r') {
+                    return Math.toIntExact(position + i);
+                }
+            }
+            position += buffer.limit();
+            buffer.clear();
+        }
+
+        return Math.toIntExact(position);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T at(int y, int x) {
+        if (y < 0 || x < 0 || y >= height || x >= width) {
+            return null;
+        }
+        return (T) decode[segments[y / rowsPerSegment].get(offset(y, x)) & 0xff];
+    }
+
+    @Override
+    public void set(int y, int x, T t) {
+        checkWritable();
+        if (y < 0 || x < 0 || y >= height || x >= width) {
+            return;
+        }
+        segments[y / rowsPerSegment].put(offset(y, x), encode[t.ordinal()]);
+    }
+
+    // raw characters of row y, for solvers that work a window of rows at a time
+    public byte[] row(int y, byte[] dst) {
+        segments[y / rowsPerSegment].get(offset(y, 0), dst, 0, width);
+        return dst;
+    }
+
+    public void writeRow(int y, byte[] src) {
+        checkWritable();
+        segments[y / rowsPerSegment].put(offset(y, 0), src, 0, width);
+    }
+
+    public boolean writable() {
+        return writable;
+    }
+
+    private void checkWritable() {
+        if (!writable) {
+            throw new UnsupportedOperationException("grid was opened read-only");
+        }
+    }
+
+    private int offset(int y, int x) {
+        return (y % rowsPerSegment) * stride + x;
+    }
+
+    @Override
+    public int width() {
+        return width;
+    }
+
+    @Override
+    public int height() {
+        return height;
+    }
+}
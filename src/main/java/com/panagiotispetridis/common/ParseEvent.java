@@ -0,0 +1,25 @@
+package com.panagiotispetridis.common;
+
+import jdk.jfr.*;
+
+@Name("aoc.Parse")
+@Label("Parse")
+@Category({"AoC2025", "Phases"})
+@Description("Parsing one day's input")
+public class ParseEvent extends Event {
+
+    @Label("Day")
+    public int day;
+
+    @Label("Part")
+    public int part;
+
+    @Label("Input Size")
+    @DataAmount
+    public long inputBytes;
+
+    @Label("Allocated")
+    @DataAmount
+    public long allocatedBytes;
+
+}
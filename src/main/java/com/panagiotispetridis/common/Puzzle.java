@@ -0,0 +1,23 @@
+package com.panagiotispetridis.common;
+
+import java.util.Scanner;
+
+public interface Puzzle<Input, Output> {
+
+    Parser<Input> parser(Scanner scanner, boolean part2);
+
+    // days ported to the byte level reader override this, null means use the Scanner parser
+    default ByteParser<Input> byteParser(ByteReader reader, boolean part2) {
+        return null;
+    }
+
+    Solver<Input, Output> solver(boolean part2);
+
+    String answer(Output output);
+
+    // bump whenever a change can alter answers, it invalidates cached answers for the day
+    default int version() {
+        return 1;
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.panagiotispetridis.common;
+
+import jdk.jfr.*;
+
+@Name("aoc.Solve")
+@Label("Solve")
+@Category({"AoC2025", "Phases"})
+@Description("Solving one day's parsed input, or streaming it when the day supports it")
+public class SolveEvent extends Event {
+
+    @Label("Day")
+    public int day;
+
+    @Label("Part")
+    public int part;
+
+    @Label("Streamed")
+    public boolean streamed;
+
+    @Label("Answer")
+    public String answer;
+
+    @Label("Allocated")
+    @DataAmount
+    public long allocatedBytes;
+
+}
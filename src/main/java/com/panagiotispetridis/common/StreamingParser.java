@@ -0,0 +1,21 @@
+package com.panagiotispetridis.common;
+
+import java.nio.channels.ReadableByteChannel;
+import java.util.function.Consumer;
+
+/**
+ * Reads records off the channel and pushes each one to the consumer as soon as it is complete, so solving
+ * can start before the whole input has been read. Line oriented days extend LineStreamingParser, days with
+ * another layout read the channel however suits them.
+ */
+public abstract class StreamingParser<Item> {
+
+    final protected ReadableByteChannel channel;
+
+    public StreamingParser(ReadableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    public abstract void parse(Consumer<Item> consumer);
+
+}
@@ -0,0 +1,12 @@
+package com.panagiotispetridis.common;
+
+import java.nio.channels.ReadableByteChannel;
+
+// days whose answer is a fold over independent records, they can be solved without materialising Input
+public interface StreamingPuzzle<Input, Item, Output> extends Puzzle<Input, Output> {
+
+    StreamingParser<Item> streamingParser(ReadableByteChannel channel, boolean part2);
+
+    StreamingSolver<Item, Output> streamingSolver(boolean part2);
+
+}
@@ -0,0 +1,9 @@
+package com.panagiotispetridis.common;
+
+import java.util.function.Consumer;
+
+public interface StreamingSolver<Item, Output> extends Consumer<Item> {
+
+    Output result();
+
+}
@@ -0,0 +1,41 @@
+package com.panagiotispetridis.day1;
+
+import com.panagiotispetridis.common.ByteReader;
+
+import java.util.function.Consumer;
+
+public class ByteParser extends com.panagiotispetridis.common.ByteParser<Input> {
+
+    public ByteParser(ByteReader reader) {
+        super(reader);
+    }
+
+    static void rotations(ByteReader reader, Consumer<Rotation> consumer) {
+        while (reader.nextLine()) {
+            int start = reader.lineStart();
+            int end = reader.lineEnd();
+            if (start == end) {
+                continue;
+            }
+            Direction direction = reader.byteAt(start) == 'L' ? Direction.LEFT : Direction.RIGHT;
+            consumer.accept(new Rotation(direction, reader.parseLong(start + 1, end)));
+        }
+    }
+
+    public Input parse() {
+        // a rotation line is at least 3 bytes ("R5\n"), most are 4-5
+        Input input = new Input((reader.limit() - reader.position()) / 4);
+        while (reader.nextLine()) {
+            int start = reader.lineStart();
+            int end = reader.lineEnd();
+            if (start == end) {
+                continue;
+            }
+            Direction direction = reader.byteAt(start) == 'L' ? Direction.LEFT : Direction.RIGHT;
+            input.add(direction, reader.parseLong(start + 1, end));
+        }
+
+        return input;
+    }
+
+}
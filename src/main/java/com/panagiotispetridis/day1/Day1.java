@@ -2,41 +2,124 @@ package com.panagiotispetridis.day1;
 
 import com.panagiotispetridis.common.Solver;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
 public class Day1 implements Solver<Input, Output> {
 
+    // rotations per chunk in parallel mode, smaller inputs are solved sequentially
+    static final int CHUNK = 1 << 16;
+
     final private boolean part2;
+    final private ForkJoinPool pool;
 
     public Day1(boolean part2) {
+        this(part2, null);
+    }
+
+    public Day1(boolean part2, ForkJoinPool pool) {
         this.part2 = part2;
+        this.pool = pool;
     }
 
     public Output solve(Input input) {
-        Dial d = new Dial();
+        if (pool == null || pool.getParallelism() == 1 || input.size() <= CHUNK) {
+            return new Output(password(input.directions(), input.amounts(), 0, input.size(), 50, part2));
+        }
+
+        return new Output(parallel(input));
+    }
+
+    /**
+     * The dial position after rotation i is a prefix sum mod 100. A first pass computes every chunk's net
+     * offset, a scan over those gives each chunk its starting position, and a second pass runs the
+     * sequential loop on every chunk from that position.
+     */
+    private long parallel(Input input) {
+        byte[] directions = input.directions();
+        long[] amounts = input.amounts();
+        int n = input.size();
+        int chunks = (n + CHUNK - 1) / CHUNK;
+
+        long[] offsets = new long[chunks];
+        pool.invoke(new Chunks(0, chunks, c ->
+                offsets[c] = offset(directions, amounts, c * CHUNK, end(c, n))));
+
+        long[] starts = new long[chunks];
+        starts[0] = 50;
+        for (int c = 1; c < chunks; c++) {
+            starts[c] = Math.floorMod(starts[c - 1] + offsets[c - 1], 100L);
+        }
+
+        long[] passwords = new long[chunks];
+        pool.invoke(new Chunks(0, chunks, c ->
+                passwords[c] = password(directions, amounts, c * CHUNK, end(c, n), starts[c], part2)));
+
         long password = 0;
+        for (long p : passwords) {
+            password += p;
+        }
 
-        for (Rotation r : input.rotations()) {
-            long throughZero = r.amount() / 100L;
-            switch (r.direction()) {
-                case LEFT -> {
-                    if (d.getValue() != 0 && d.distanceToZeroLeft() < r.amount() % 100) {
-                        throughZero++;
-                    }
-                }
-                case RIGHT -> {
-                    if (d.getValue() != 0 && d.distanceToZeroRight() < r.amount() % 100) {
-                        throughZero++;
-                    }
-                }
-            }
-            d.rotate(r);
-            if (d.getValue() == 0L) {
-                password++;
-            }
-            if (part2) {
-                password += throughZero;
-            }
+        return password;
+    }
+
+    private static int end(int chunk, int n) {
+        return (int) Math.min(n, (chunk + 1L) * CHUNK);
+    }
+
+    static long offset(byte[] directions, long[] amounts, int from, int to) {
+        // at most 99 per rotation, so a chunk cannot overflow
+        long offset = 0;
+        for (int i = from; i < to; i++) {
+            offset += directions[i] * (amounts[i] % 100);
+        }
+
+        return Math.floorMod(offset, 100L);
+    }
+
+    /**
+     * Closed form of {@link PasswordFold} over rotations [from, to) starting at dial position {@code start}.
+     * A left turn from p is a right turn from the mirrored position floorMod(-p, 100), so both directions
+     * share one formula: a full turn per 100 clicks plus one more if the remainder carries past zero.
+     */
+    static long password(byte[] directions, long[] amounts, int from, int to, long start, boolean part2) {
+        long through = part2 ? 1 : 0;
+        long p = start;
+        long password = 0;
+        for (int i = from; i < to; i++) {
+            long sign = directions[i];
+            long amount = amounts[i];
+            long mirrored = Math.floorMod(sign * p, 100L);
+            long crossings = amount / 100 + (mirrored + amount % 100 - 1) / 100;
+            p = Math.floorMod(p + sign * amount, 100L);
+            password += 1 - (p + 99) / 100 + through * crossings;
         }
 
-        return new Output(password);
+        return password;
+    }
+
+    @SuppressWarnings("serial")
+    private static class Chunks extends RecursiveAction {
+
+        final private int from;
+        final private int to;
+        final private IntConsumer chunk;
+
+        Chunks(int from, int to, IntConsumer chunk) {
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                chunk.accept(from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Chunks(from, mid, chunk), new Chunks(mid, to, chunk));
+        }
     }
 }
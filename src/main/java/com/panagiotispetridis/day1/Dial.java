@@ -9,14 +9,7 @@ public class Dial {
     }
 
     public void rotate(Rotation r) {
-        switch (r.direction()) {
-            case LEFT -> value -= r.amount();
-            case RIGHT -> value += r.amount();
-        }
-        while (value < 0) {
-            value += 100;
-        }
-        value = value % 100;
+        value = Math.floorMod(value + r.direction().sign() * r.amount(), 100L);
     }
 
     public long distanceToZeroLeft() {
@@ -1,13 +1,19 @@
 package com.panagiotispetridis.day1;
 
 public enum Direction {
-    LEFT("L"),
-    RIGHT("R");
+    LEFT("L", (byte) -1),
+    RIGHT("R", (byte) 1);
 
     final private String serialized;
+    final private byte sign;
 
-    Direction(String s) {
+    Direction(String s, byte sign) {
         this.serialized = s;
+        this.sign = sign;
+    }
+
+    public byte sign() {
+        return sign;
     }
 
     @Override
@@ -1,6 +1,53 @@
 package com.panagiotispetridis.day1;
 
-import java.util.List;
+import java.util.Arrays;
 
-public record Input(List<Rotation> rotations) {
+/**
+ * Rotations stored column-wise: the sign of each turn (-1 left, +1 right) and its amount.
+ * The arrays returned by {@link #directions()} and {@link #amounts()} are only valid up to {@link #size()}.
+ */
+public final class Input {
+
+    private byte[] directions;
+    private long[] amounts;
+    private int size;
+
+    public Input() {
+        this(16);
+    }
+
+    public Input(int capacity) {
+        this.directions = new byte[Math.max(capacity, 1)];
+        this.amounts = new long[Math.max(capacity, 1)];
+    }
+
+    public void add(Direction direction, long amount) {
+        if (size == amounts.length) {
+            directions = Arrays.copyOf(directions, size * 2);
+            amounts = Arrays.copyOf(amounts, size * 2);
+        }
+        directions[size] = direction.sign();
+        amounts[size] = amount;
+        size++;
+    }
+
+    public void add(Rotation r) {
+        add(r.direction(), r.amount());
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public byte[] directions() {
+        return directions;
+    }
+
+    public long[] amounts() {
+        return amounts;
+    }
+
+    public Rotation rotation(int i) {
+        return new Rotation(directions[i] < 0 ? Direction.LEFT : Direction.RIGHT, amounts[i]);
+    }
 }
@@ -1,14 +1,50 @@
 package com.panagiotispetridis.day1;
 
+import com.panagiotispetridis.common.ByteReader;
 import com.panagiotispetridis.common.Solver;
+import com.panagiotispetridis.common.StreamingPuzzle;
 
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
 
 public class Main {
 
+    public static final StreamingPuzzle<Input, Rotation, Output> PUZZLE = new StreamingPuzzle<>() {
+        @Override
+        public Parser parser(Scanner scanner, boolean part2) {
+            return new Parser(scanner);
+        }
+
+        @Override
+        public ByteParser byteParser(ByteReader reader, boolean part2) {
+            return new ByteParser(reader);
+        }
+
+        @Override
+        public Solver<Input, Output> solver(boolean part2) {
+            return new Day1(part2, ForkJoinPool.commonPool());
+        }
+
+        @Override
+        public StreamingParser streamingParser(ReadableByteChannel channel, boolean part2) {
+            return new StreamingParser(channel);
+        }
+
+        @Override
+        public PasswordFold streamingSolver(boolean part2) {
+            return new PasswordFold(part2);
+        }
+
+        @Override
+        public String answer(Output output) {
+            return output.toString();
+        }
+    };
+
     public static void main(String[] args) {
         InputStream is = Main.class.getResourceAsStream("/day1/input1.in");
         assert is != null;
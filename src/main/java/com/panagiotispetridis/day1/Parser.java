@@ -1,6 +1,5 @@
 package com.panagiotispetridis.day1;
 
-import java.util.ArrayList;
 import java.util.Scanner;
 
 public class Parser extends com.panagiotispetridis.common.Parser<Input> {
@@ -10,10 +9,10 @@ public class Parser extends com.panagiotispetridis.common.Parser<Input> {
     }
 
     public Input parse() {
-        Input input = new Input(new ArrayList<>());
+        Input input = new Input();
 
         while(scanner.hasNextLine()) {
-            input.rotations().add(Rotation.fromString(scanner.nextLine()));
+            input.add(Rotation.fromString(scanner.nextLine()));
         }
 
         return input;
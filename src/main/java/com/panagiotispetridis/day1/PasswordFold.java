@@ -0,0 +1,45 @@
+package com.panagiotispetridis.day1;
+
+import com.panagiotispetridis.common.StreamingSolver;
+
+public class PasswordFold implements StreamingSolver<Rotation, Output> {
+
+    final private boolean part2;
+    final private Dial d;
+    private long password;
+
+    public PasswordFold(boolean part2) {
+        this.part2 = part2;
+        this.d = new Dial();
+        this.password = 0;
+    }
+
+    @Override
+    public void accept(Rotation r) {
+        long throughZero = r.amount() / 100L;
+        switch (r.direction()) {
+            case LEFT -> {
+                if (d.getValue() != 0 && d.distanceToZeroLeft() < r.amount() % 100) {
+                    throughZero++;
+                }
+            }
+            case RIGHT -> {
+                if (d.getValue() != 0 && d.distanceToZeroRight() < r.amount() % 100) {
+                    throughZero++;
+                }
+            }
+        }
+        d.rotate(r);
+        if (d.getValue() == 0L) {
+            password++;
+        }
+        if (part2) {
+            password += throughZero;
+        }
+    }
+
+    @Override
+    public Output result() {
+        return new Output(password);
+    }
+}
@@ -0,0 +1,20 @@
+package com.panagiotispetridis.day1;
+
+import com.panagiotispetridis.common.ByteReader;
+import com.panagiotispetridis.common.LineStreamingParser;
+
+import java.nio.channels.ReadableByteChannel;
+import java.util.function.Consumer;
+
+public class StreamingParser extends LineStreamingParser<Rotation> {
+
+    public StreamingParser(ReadableByteChannel channel) {
+        super(channel);
+    }
+
+    @Override
+    protected void parseChunk(ByteReader chunk, Consumer<Rotation> consumer) {
+        ByteParser.rotations(chunk, consumer);
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.panagiotispetridis.day10;
 
 import com.panagiotispetridis.common.Parser;
+import com.panagiotispetridis.common.Puzzle;
 import com.panagiotispetridis.common.Solver;
 
 import java.io.InputStream;
@@ -10,6 +11,7 @@ import java.util.function.Function;
 
 import com.google.ortools.Loader;
 import com.google.ortools.sat.*;
+import jdk.jfr.*;
 
 public class Main {
 
@@ -109,6 +111,27 @@ public class Main {
         }
     }
 
+    @Name("aoc.day10.Machine")
+    @Label("Day 10 Machine")
+    @Category({"AoC2025", "Day 10"})
+    @Description("Solving a single machine, BFS over light states for part1 and OR-Tools CP-SAT for part2")
+    public static class MachineEvent extends Event {
+        @Label("Machine")
+        int machine;
+
+        @Label("Part")
+        int part;
+
+        @Label("Buttons")
+        int buttons;
+
+        @Label("Counters")
+        int counters;
+
+        @Label("Presses")
+        int presses;
+    }
+
     static class Day10 implements Solver<Input, Output> {
         private final boolean part2;
         private final Set<String> seen;
@@ -234,10 +257,28 @@ public class Main {
             return Integer.MAX_VALUE;
         }
 
+        int solveMachine(int index, Machine machine) {
+            MachineEvent event = new MachineEvent();
+            event.begin();
+            int presses = part2 ? solveMachineWithORTools(machine) : configure(machine);
+            event.end();
+            if (event.shouldCommit()) {
+                event.machine = index;
+                event.part = part2 ? 2 : 1;
+                event.buttons = machine.buttons().size();
+                event.counters = machine.joltages().size();
+                event.presses = presses;
+                event.commit();
+            }
+
+            return presses;
+        }
+
         Output solvePart2(Input input) {
             int answer = 0;
-            for (Machine m : input.machines()) {
-                int presses = solveMachineWithORTools(m);
+            for (int i = 0; i < input.machines().size(); i++) {
+                Machine m = input.machines().get(i);
+                int presses = solveMachine(i, m);
                 if (presses == Integer.MAX_VALUE) {
                     return new Output(presses);
                 }
@@ -318,8 +359,8 @@ public class Main {
 
         public Output solvePart1(Input input) {
             int answer = 0;
-            for (Machine machine : input.machines()) {
-                answer += configure(machine);
+            for (int i = 0; i < input.machines().size(); i++) {
+                answer += solveMachine(i, input.machines().get(i));
             }
 
             return new Output(answer);
@@ -334,6 +375,23 @@ public class Main {
         }
     }
 
+    public static final Puzzle<Input, Output> PUZZLE = new Puzzle<>() {
+        @Override
+        public Parser<Input> parser(Scanner scanner, boolean part2) {
+            return new Day10Parser(scanner);
+        }
+
+        @Override
+        public Solver<Input, Output> solver(boolean part2) {
+            return new Day10(part2);
+        }
+
+        @Override
+        public String answer(Output output) {
+            return Integer.toString(output.answer());
+        }
+    };
+
     public static void main(String[] args) {
         InputStream is = Main.class.getResourceAsStream("/day10/input.in");
         assert is != null;
@@ -1,6 +1,7 @@
 package com.panagiotispetridis.day11;
 
 import com.panagiotispetridis.common.Parser;
+import com.panagiotispetridis.common.Puzzle;
 import com.panagiotispetridis.common.Solver;
 
 import java.io.InputStream;
@@ -104,6 +105,23 @@ public class Main {
         }
     }
 
+    public static final Puzzle<Map<String, String[]>, Long> PUZZLE = new Puzzle<>() {
+        @Override
+        public Parser<Map<String, String[]>> parser(Scanner scanner, boolean part2) {
+            return new Day11Parser(scanner);
+        }
+
+        @Override
+        public Solver<Map<String, String[]>, Long> solver(boolean part2) {
+            return new Day11(part2);
+        }
+
+        @Override
+        public String answer(Long output) {
+            return output.toString();
+        }
+    };
+
     public static void main(String[] args) {
         InputStream is = Main.class.getResourceAsStream("/day11/input.in");
         assert is != null;
@@ -37,6 +37,7 @@ public class DLX {
 
     private int nextRowId = 0;
     private boolean solutionFound = false;
+    private long nodes = 0;     // search() calls, i.e. nodes of the search tree visited
 
     /**
      * @param numGridCols number of grid-cell columns (primary columns)
@@ -144,7 +145,16 @@ public class DLX {
         return solutionFound;
     }
 
+    public long nodes() {
+        return nodes;
+    }
+
+    public int rows() {
+        return nextRowId;
+    }
+
     private void search() {
+        nodes++;
         if (solutionFound) return;
 
         // If there are no columns left, check shape counts
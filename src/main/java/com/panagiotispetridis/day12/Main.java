@@ -1,8 +1,11 @@
 package com.panagiotispetridis.day12;
 
 import com.panagiotispetridis.common.Parser;
+import com.panagiotispetridis.common.Puzzle;
 import com.panagiotispetridis.common.Solver;
 
+import jdk.jfr.*;
+
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.*;
@@ -189,6 +192,28 @@ public class Main {
         }
     }
 
+    @Name("aoc.day12.Query")
+    @Label("Day 12 Query")
+    @Category({"AoC2025", "Day 12"})
+    @Description("One region checked with the DLX exact cover search")
+    public static class QueryEvent extends Event {
+        @Label("Width")
+        int width;
+
+        @Label("Height")
+        int height;
+
+        @Label("Rows")
+        @Description("Placement rows added to the DLX matrix, 0 when pruned by area")
+        int rows;
+
+        @Label("Search Nodes")
+        long nodes;
+
+        @Label("Fits")
+        boolean fits;
+    }
+
     static class Day12 implements Solver<Input, Output> {
 
         static class Piece {
@@ -213,17 +238,14 @@ public class Main {
                     cs.submit(() -> canFitDLX(input.shapes(), query));
                 }
 
+                // progress per query is recorded as aoc.day12.Query JFR events
                 int answer = 0;
-                int completed = 0;
                 for (int i = 0; i < total; i++) {
                     Future<Boolean> future = cs.take();
                     boolean ok = future.get();
                     if (ok) {
                         answer++;
                     }
-
-                    completed++;
-                    System.out.println("Completed " + completed + "/" + total);
                 }
 
                 return new Output(answer);
@@ -233,8 +255,23 @@ public class Main {
             }
         }
 
-        // AI GENERATED - I can't write DLX :(
         private boolean canFitDLX(List<Shape> shapes, Query q) {
+            QueryEvent event = new QueryEvent();
+            event.begin();
+            boolean fits = canFitDLX(shapes, q, event);
+            event.end();
+            if (event.shouldCommit()) {
+                event.width = q.grid().w;
+                event.height = q.grid().h;
+                event.fits = fits;
+                event.commit();
+            }
+
+            return fits;
+        }
+
+        // AI GENERATED - I can't write DLX :(
+        private boolean canFitDLX(List<Shape> shapes, Query q, QueryEvent event) {
             int W = q.grid().w;
             int H = q.grid().h;
             int gridCells = W * H;
@@ -323,7 +360,11 @@ public class Main {
                 dlx.addRow(cols, -1);
             }
 
-            return dlx.solveExists();
+            boolean fits = dlx.solveExists();
+            event.rows = dlx.rows();
+            event.nodes = dlx.nodes();
+
+            return fits;
         }
 
         boolean canFitAll(List<Shape> shapes, Query query) {
@@ -408,6 +449,23 @@ public class Main {
         }
     }
 
+    public static final Puzzle<Input, Output> PUZZLE = new Puzzle<>() {
+        @Override
+        public Parser<Input> parser(Scanner scanner, boolean part2) {
+            return new Day12Parser(scanner);
+        }
+
+        @Override
+        public Solver<Input, Output> solver(boolean part2) {
+            return new Day12();
+        }
+
+        @Override
+        public String answer(Output output) {
+            return Integer.toString(output.answer());
+        }
+    };
+
     public static void main(String[] args) {
         InputStream is = Main.class.getResourceAsStream("/day12/input.in");
         assert is != null;
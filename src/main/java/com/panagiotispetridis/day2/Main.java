@@ -1,12 +1,23 @@
 package com.panagiotispetridis.day2;
 
+import com.panagiotispetridis.common.Puzzle;
 import com.panagiotispetridis.common.Solver;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -48,10 +59,22 @@ public class Main {
 
         private static final char[] digits = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9'};
 
+        // merged ranges per fork/join leaf
+        static final int SHARD = 256;
+
         final private boolean part2;
+        final private IdIndex index;
+        final private ForkJoinPool pool;
 
         public Day2(boolean part2) {
+            this(part2, null, null);
+        }
+
+        // the index is only used if it was built for the same part
+        public Day2(boolean part2, IdIndex index, ForkJoinPool pool) {
             this.part2 = part2;
+            this.index = index != null && index.part2() == part2 ? index : null;
+            this.pool = pool;
         }
 
         BigInteger invalidIdSumAnyTimes(Range range, int splitsLimit) {
@@ -85,21 +108,378 @@ public class Main {
         }
 
         public Output solve(Input input) {
+            List<Range> ranges = merge(input.ranges());
+            if (pool == null || pool.getParallelism() == 1 || ranges.size() <= SHARD) {
+                return new Output(sum(ranges, 0, ranges.size()));
+            }
+
+            return new Output(pool.invoke(new Shard(ranges, 0, ranges.size())));
+        }
+
+        // sorted, with overlapping and adjacent ranges joined so no id is counted twice
+        static List<Range> merge(List<Range> ranges) {
+            List<Range> sorted = new ArrayList<>(ranges);
+            sorted.sort(Comparator.comparing(Range::lowerBound));
+            List<Range> merged = new ArrayList<>();
+            for (Range range : sorted) {
+                if (!merged.isEmpty() && range.lowerBound().compareTo(merged.getLast().upperBound().add(BigInteger.ONE)) <= 0) {
+                    Range last = merged.removeLast();
+                    merged.add(new Range(last.lowerBound(), last.upperBound().max(range.upperBound())));
+                    continue;
+                }
+                merged.add(range);
+            }
+
+            return merged;
+        }
+
+        BigInteger sum(List<Range> ranges, int from, int to) {
             BigInteger total = new BigInteger("0");
-            for (Range range : input.ranges) {
-                if (part2) {
+            Sum128 sum = new Sum128();
+            for (Range range : ranges.subList(from, to)) {
+                if (range.lowerBound().bitLength() < 64 && range.upperBound().bitLength() < 64) {
+                    long lower = range.lowerBound().longValue();
+                    long upper = range.upperBound().longValue();
+                    if (index != null && lower <= index.bound()) {
+                        sum.add(1, index.sum(lower, Math.min(upper, index.bound())), 1);
+                        lower = index.bound() + 1;
+                    }
+                    RepeatedIds.sum(lower, upper, part2, sum);
+                } else if (part2) {
                     total = total.add(invalidIdSumAnyTimes(range, 99999999));
                 } else {
                     total = total.add(invalidIdSumAnyTimes(range, 2));
                 }
             }
 
-            return new Output(total);
+            return total.add(sum.toBigInteger());
+        }
+
+        @SuppressWarnings("serial")
+        private class Shard extends RecursiveTask<BigInteger> {
+
+            final private List<Range> ranges;
+            final private int from;
+            final private int to;
+
+            Shard(List<Range> ranges, int from, int to) {
+                this.ranges = ranges;
+                this.from = from;
+                this.to = to;
+            }
+
+            @Override
+            protected BigInteger compute() {
+                if (to - from <= SHARD) {
+                    return sum(ranges, from, to);
+                }
+                int mid = (from + to) >>> 1;
+                Shard left = new Shard(ranges, from, mid);
+                left.fork();
+                BigInteger right = new Shard(ranges, mid, to).compute();
+
+                return right.add(left.join());
+            }
+        }
+
+    }
+
+    /**
+     * Invalid ids with a given number of digits are a block of length L times the repunit
+     * (10^digits - 1) / (10^L - 1), so the ones inside a range are an arithmetic series of blocks.
+     * A number with periods L and M (both dividing digits) also has period gcd(L, M), which turns the
+     * inclusion-exclusion over proper divisors into -mobius(digits / L) per divisor.
+     */
+    static class RepeatedIds {
+
+        static final long[] POW10 = new long[19];
+
+        static {
+            POW10[0] = 1;
+            for (int i = 1; i < POW10.length; i++) {
+                POW10[i] = POW10[i - 1] * 10;
+            }
+        }
+
+        static void sum(long lower, long upper, boolean part2, Sum128 sum) {
+            if (lower > upper) {
+                return;
+            }
+            for (int digits = Math.max(2, digits(lower)); digits <= digits(upper); digits++) {
+                if (!part2) {
+                    if (digits % 2 == 0) {
+                        blocks(lower, upper, digits, digits / 2, 1, sum);
+                    }
+                    continue;
+                }
+                for (int block = 1; block < digits; block++) {
+                    int sign = digits % block == 0 ? -mobius(digits / block) : 0;
+                    if (sign != 0) {
+                        blocks(lower, upper, digits, block, sign, sum);
+                    }
+                }
+            }
+        }
+
+        // adds sign * the sum of all numbers in [lower, upper] made of a block of the given length repeated to digits
+        static void blocks(long lower, long upper, int digits, int block, int sign, Sum128 sum) {
+            // at most 19 digits, so the repunit stays below 1.2e18
+            long repunit = 0;
+            for (int i = 0; i < digits / block; i++) {
+                repunit = repunit * POW10[block] + 1;
+            }
+            long min = Math.max(POW10[block - 1], Math.ceilDiv(lower, repunit));
+            long max = Math.min(POW10[block] - 1, upper / repunit);
+            if (min > max) {
+                return;
+            }
+            // blocks have at most 9 digits, so count * (min + max) fits
+            long count = max - min + 1;
+            long series = count % 2 == 0 ? count / 2 * (min + max) : (min + max) / 2 * count;
+            sum.add(sign, repunit, series);
+        }
+
+        static int digits(long n) {
+            int digits = 1;
+            while (digits < POW10.length && n >= POW10[digits]) {
+                digits++;
+            }
+
+            return digits;
+        }
+
+        static int mobius(int n) {
+            int mobius = 1;
+            for (int p = 2; p * p <= n; p++) {
+                if (n % p == 0) {
+                    n /= p;
+                    if (n % p == 0) {
+                        return 0;
+                    }
+                    mobius = -mobius;
+                }
+            }
+
+            return n > 1 ? -mobius : mobius;
+        }
+    }
+
+    /**
+     * Every invalid id up to a bound, sorted, with prefix sums so a range sum is two binary searches.
+     * All ids up to 1e18 would be ~1e9 entries per part and their sum overflows a long, so the bound is
+     * chosen by the caller (1e12 is ~1M ids) and ranges above it are left to {@link RepeatedIds}.
+     */
+    static class IdIndex {
+
+        static final int MAGIC = 0x44324958; // "D2IX"
+        // bump whenever the layout after the header changes
+        static final int VERSION = 1;
+        static final long DEFAULT_BOUND = 1_000_000_000_000L;
+
+        final private boolean part2;
+        final private long bound;
+        final private long[] ids;
+        final private long[] prefix;
+
+        private IdIndex(boolean part2, long bound, long[] ids) {
+            this.part2 = part2;
+            this.bound = bound;
+            this.ids = ids;
+            this.prefix = new long[ids.length + 1];
+            for (int i = 0; i < ids.length; i++) {
+                // throws if the bound is too large for long prefix sums
+                prefix[i + 1] = Math.addExact(prefix[i], ids[i]);
+            }
+        }
+
+        static IdIndex build(boolean part2, long bound) {
+            long[] ids = new long[1024];
+            int size = 0;
+            for (int digits = 2; digits <= RepeatedIds.digits(bound); digits++) {
+                for (int block = 1; block < digits; block++) {
+                    if (digits % block != 0 || (!part2 && block * 2 != digits)) {
+                        continue;
+                    }
+                    long repunit = 0;
+                    for (int i = 0; i < digits / block; i++) {
+                        repunit = repunit * RepeatedIds.POW10[block] + 1;
+                    }
+                    long max = Math.min(RepeatedIds.POW10[block] - 1, bound / repunit);
+                    for (long b = RepeatedIds.POW10[block - 1]; b <= max; b++) {
+                        if (size == ids.length) {
+                            ids = Arrays.copyOf(ids, size * 2);
+                        }
+                        ids[size++] = b * repunit;
+                    }
+                }
+            }
+            Arrays.sort(ids, 0, size);
+
+            // ids with several periods (e.g. 111111) were produced once per period
+            int unique = 0;
+            for (int i = 0; i < size; i++) {
+                if (unique == 0 || ids[unique - 1] != ids[i]) {
+                    ids[unique++] = ids[i];
+                }
+            }
+
+            return new IdIndex(part2, bound, Arrays.copyOf(ids, unique));
+        }
+
+        boolean part2() {
+            return part2;
+        }
+
+        long bound() {
+            return bound;
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        // sum of the indexed ids in [lower, upper]
+        long sum(long lower, long upper) {
+            if (lower > upper) {
+                return 0;
+            }
+            return prefix[insertionPoint(upper + 1)] - prefix[insertionPoint(lower)];
+        }
+
+        // index of the first id >= value
+        private int insertionPoint(long value) {
+            int i = Arrays.binarySearch(ids, value);
+            return i >= 0 ? i : -i - 1;
+        }
+
+        // [magic][version][part2][bound][count] then the ids as varint deltas, neighbours differ by about
+        // one repunit so most take 1-4 bytes
+        void write(Path file) throws IOException {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeBoolean(part2);
+                out.writeLong(bound);
+                out.writeInt(ids.length);
+                long previous = 0;
+                for (long id : ids) {
+                    long delta = id - previous;
+                    while ((delta & ~0x7fL) != 0) {
+                        out.writeByte((int) (delta & 0x7f) | 0x80);
+                        delta >>>= 7;
+                    }
+                    out.writeByte((int) delta);
+                    previous = id;
+                }
+            }
+        }
+
+        static IdIndex read(Path file) throws IOException {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                if (in.readInt() != MAGIC) {
+                    throw new IOException("not a day2 id index: " + file);
+                }
+                int version = in.readInt();
+                if (version != VERSION) {
+                    throw new IOException("day2 id index " + file + " has format version " + version
+                            + ", expected " + VERSION + ", rebuild it with: index <1|2> [bound] <file>");
+                }
+                boolean part2 = in.readBoolean();
+                long bound = in.readLong();
+                long[] ids = new long[in.readInt()];
+                long previous = 0;
+                for (int i = 0; i < ids.length; i++) {
+                    long delta = 0;
+                    int shift = 0;
+                    int b;
+                    do {
+                        b = in.readUnsignedByte();
+                        delta |= (long) (b & 0x7f) << shift;
+                        shift += 7;
+                    } while ((b & 0x80) != 0);
+                    previous += delta;
+                    ids[i] = previous;
+                }
+
+                return new IdIndex(part2, bound, ids);
+            }
+        }
+    }
+
+    // -Dday2.index=<file> makes the puzzle answer ranges from a prebuilt index, loaded on first use
+    static class SharedIndex {
+
+        static final IdIndex INDEX = load(System.getProperty("day2.index"));
+
+        private static IdIndex load(String file) {
+            if (file == null) {
+                return null;
+            }
+            try {
+                return IdIndex.read(Path.of(file));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // two's complement 128-bit accumulator, a single range can sum to well past Long.MAX_VALUE
+    static class Sum128 {
+
+        private long high;
+        private long low;
+
+        void add(int sign, long a, long b) {
+            long productLow = a * b;
+            long productHigh = Math.multiplyHigh(a, b);
+            if (sign < 0) {
+                productHigh = ~productHigh + (productLow == 0 ? 1 : 0);
+                productLow = -productLow;
+            }
+            long sum = low + productLow;
+            high += productHigh + (Long.compareUnsigned(sum, low) < 0 ? 1 : 0);
+            low = sum;
         }
 
+        BigInteger toBigInteger() {
+            return BigInteger.valueOf(high).shiftLeft(64).add(new BigInteger(Long.toUnsignedString(low)));
+        }
     }
 
-    public static void main(String[] args) {
+    public static final Puzzle<Input, Output> PUZZLE = new Puzzle<>() {
+        @Override
+        public com.panagiotispetridis.common.Parser<Input> parser(Scanner scanner, boolean part2) {
+            return new Parser(scanner);
+        }
+
+        @Override
+        public Solver<Input, Output> solver(boolean part2) {
+            return new Day2(part2, SharedIndex.INDEX, ForkJoinPool.commonPool());
+        }
+
+        @Override
+        public String answer(Output output) {
+            return output.invalidIdSum().toString();
+        }
+
+        // 2: overlapping ranges are merged, ids in several ranges are no longer counted twice
+        @Override
+        public int version() {
+            return 2;
+        }
+    };
+
+    public static void main(String[] args) throws IOException {
+        // index <1|2> [bound] <file>: build and write an IdIndex
+        if (args.length > 0 && args[0].equals("index")) {
+            boolean part2 = args[1].equals("2");
+            long bound = args.length > 3 ? Long.parseLong(args[2]) : IdIndex.DEFAULT_BOUND;
+            IdIndex index = IdIndex.build(part2, bound);
+            index.write(Path.of(args[args.length - 1]));
+            System.out.printf("indexed %d ids up to %d%n", index.size(), bound);
+            return;
+        }
+
         InputStream is = Main.class.getResourceAsStream("/day2/input.in");
         assert is != null;
         try (Scanner scanner = new Scanner(new InputStreamReader(is, StandardCharsets.UTF_8))) {
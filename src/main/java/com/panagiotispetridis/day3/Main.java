@@ -1,15 +1,28 @@
 package com.panagiotispetridis.day3;
 
+import com.panagiotispetridis.common.ByteParser;
+import com.panagiotispetridis.common.ByteReader;
 import com.panagiotispetridis.common.Solver;
+import com.panagiotispetridis.common.LineStreamingParser;
+import com.panagiotispetridis.common.StreamingParser;
+import com.panagiotispetridis.common.StreamingPuzzle;
+import com.panagiotispetridis.common.StreamingSolver;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
 
 public class Main {
 
-    record BatteryRow(List<Long> batteries) {}
+    // digit values 0-9, one per battery
+    record BatteryRow(byte[] batteries) {}
 
     record Input(List<BatteryRow> batteryRows) {}
 
@@ -25,11 +38,16 @@ public class Main {
         public Input parse() {
             Input input = new Input(new ArrayList<>());
             while(scanner.hasNextLine()) {
-                BatteryRow batteryRow = new BatteryRow(new ArrayList<>());
-                Arrays.stream(scanner.nextLine()
-                        .split(""))
-                        .forEach(battery -> batteryRow.batteries().add(Long.parseLong(battery)));
-                input.batteryRows().add(batteryRow);
+                String line = scanner.nextLine();
+                // blank lines are not rows, as in Day3ByteParser
+                if (line.isEmpty()) {
+                    continue;
+                }
+                byte[] batteries = line.getBytes(StandardCharsets.US_ASCII);
+                for (int i = 0; i < batteries.length; i++) {
+                    batteries[i] -= '0';
+                }
+                input.batteryRows().add(new BatteryRow(batteries));
             }
 
             return input;
@@ -37,10 +55,26 @@ public class Main {
 
         static class Day3 implements Solver<Input, Output> {
 
+            // rows per fork/join leaf
+            static final int SHARD = 1024;
+
+            // the most digits a joltage can have and still fit a long
+            static final int MAX_PICKS = 18;
+
             final private boolean part2;
+            final private ForkJoinPool pool;
 
             public Day3(boolean part2) {
+                this(part2, null);
+            }
+
+            public Day3(boolean part2, ForkJoinPool pool) {
                 this.part2 = part2;
+                this.pool = pool;
+            }
+
+            int numberOfPicks() {
+                return part2 ? 12 : 2;
             }
 
             long pow(long base, long exp) {
@@ -52,17 +86,18 @@ public class Main {
                 return result;
             }
 
+            // O(n * k) reference for maxJoltage
             long maxJoltageForBatteryRow(BatteryRow batteryRow, int numberOfPicks) {
-                List<Long> batteries = batteryRow.batteries();
-                long[][] dp = new long[batteries.size() + 1][numberOfPicks + 1];
+                byte[] batteries = batteryRow.batteries();
+                long[][] dp = new long[batteries.length + 1][numberOfPicks + 1];
 
-                for (int i = 0; i <= batteries.size(); i++) {
+                for (int i = 0; i <= batteries.length; i++) {
                     for (int j = 0; j <= numberOfPicks; j++) {
                         dp[i][j] = 0;
                     }
                 }
 
-                for (int i = 1; i <= batteries.size(); i++) {
+                for (int i = 1; i <= batteries.length; i++) {
                     for (int j = 1; j <= numberOfPicks; j++) {
                         // inverted because we go from largest to smallest number
                         long multiplier = pow(10L, numberOfPicks - j);
@@ -70,26 +105,178 @@ public class Main {
                         //              if we do pick this number - ie. whatever max we can get by adding this number to whatever max we had before with 1 less pick (j-1)
                         //              if we don't pick this number - ie. whatever max we can get with same number of picks (j) but with the previous numbers
                         // );
-                        dp[i][j] = Math.max(dp[i-1][j-1] + batteries.get(i-1) * multiplier, dp[i-1][j]);
+                        dp[i][j] = Math.max(dp[i-1][j-1] + batteries[i-1] * multiplier, dp[i-1][j]);
+                    }
+                }
+
+                return dp[batteries.length][numberOfPicks];
+            }
+
+            /**
+             * Largest k-digit subsequence: a digit pops smaller digits off the stack while enough digits
+             * remain after it to still fill k places. Each digit is pushed and popped at most once.
+             */
+            long maxJoltage(byte[] batteries, int numberOfPicks) {
+                return maxJoltage(batteries, numberOfPicks, new byte[numberOfPicks]);
+            }
+
+            // stack is scratch space of at least numberOfPicks bytes, kept by callers that go over many rows
+            long maxJoltage(byte[] batteries, int numberOfPicks, byte[] stack) {
+                if (batteries.length < numberOfPicks) {
+                    return maxJoltageForBatteryRow(new BatteryRow(batteries), numberOfPicks);
+                }
+                int size = 0;
+                int drops = batteries.length - numberOfPicks;
+                for (byte battery : batteries) {
+                    while (size > 0 && drops > 0 && stack[size - 1] < battery) {
+                        size--;
+                        drops--;
+                    }
+                    if (size < numberOfPicks) {
+                        stack[size++] = battery;
+                    } else {
+                        drops--;
+                    }
+                }
+
+                long joltage = 0;
+                for (int i = 0; i < numberOfPicks; i++) {
+                    joltage = joltage * 10 + stack[i];
+                }
+
+                return joltage;
+            }
+
+            /**
+             * maxJoltage for several pick counts in one scan of the row: every k keeps its own stack in a
+             * slice of one scratch array, and each digit is offered to all of them before moving on.
+             */
+            long[] maxJoltages(byte[] batteries, int[] picks) {
+                int[] offsets = new int[picks.length + 1];
+                for (int q = 0; q < picks.length; q++) {
+                    offsets[q + 1] = offsets[q] + picks[q];
+                }
+                byte[] stacks = new byte[offsets[picks.length]];
+                int[] sizes = new int[picks.length];
+                int[] drops = new int[picks.length];
+                for (int q = 0; q < picks.length; q++) {
+                    drops[q] = batteries.length - picks[q];
+                }
+
+                for (byte battery : batteries) {
+                    for (int q = 0; q < picks.length; q++) {
+                        int base = offsets[q];
+                        while (sizes[q] > 0 && drops[q] > 0 && stacks[base + sizes[q] - 1] < battery) {
+                            sizes[q]--;
+                            drops[q]--;
+                        }
+                        if (sizes[q] < picks[q]) {
+                            stacks[base + sizes[q]++] = battery;
+                        } else {
+                            drops[q]--;
+                        }
                     }
                 }
 
-                return dp[batteries.size()][numberOfPicks];
+                long[] joltages = new long[picks.length];
+                for (int q = 0; q < picks.length; q++) {
+                    if (batteries.length < picks[q]) {
+                        joltages[q] = maxJoltageForBatteryRow(new BatteryRow(batteries), picks[q]);
+                        continue;
+                    }
+                    for (int i = offsets[q]; i < offsets[q + 1]; i++) {
+                        joltages[q] = joltages[q] * 10 + stacks[i];
+                    }
+                }
+
+                return joltages;
+            }
+
+            // total joltage over all rows for each pick count, rows are split across the pool if there is one
+            long[] joltages(Input input, int[] picks) {
+                List<BatteryRow> rows = input.batteryRows();
+                if (pool == null || pool.getParallelism() == 1 || rows.size() <= SHARD) {
+                    return new Rows(rows, 0, rows.size(), picks).compute();
+                }
+
+                return pool.invoke(new Rows(rows, 0, rows.size(), picks));
             }
 
             @Override
             public Output solve(Input input) {
-                long answer = 0;
-                for (BatteryRow row : input.batteryRows()) {
-                    answer += maxJoltageForBatteryRow(row, part2 ? 12 : 2);
+                return new Output(joltages(input, new int[]{numberOfPicks()})[0]);
+            }
+
+            @SuppressWarnings("serial")
+            private class Rows extends RecursiveTask<long[]> {
+
+                final private List<BatteryRow> rows;
+                final private int from;
+                final private int to;
+                final private int[] picks;
+
+                Rows(List<BatteryRow> rows, int from, int to, int[] picks) {
+                    this.rows = rows;
+                    this.from = from;
+                    this.to = to;
+                    this.picks = picks;
                 }
 
-                return new Output(answer);
+                @Override
+                protected long[] compute() {
+                    if (to - from > SHARD) {
+                        int mid = (from + to) >>> 1;
+                        Rows left = new Rows(rows, from, mid, picks);
+                        left.fork();
+                        long[] totals = new Rows(rows, mid, to, picks).compute();
+                        long[] other = left.join();
+                        for (int q = 0; q < picks.length; q++) {
+                            totals[q] += other[q];
+                        }
+
+                        return totals;
+                    }
+
+                    long[] totals = new long[picks.length];
+                    if (picks.length == 1) {
+                        byte[] stack = new byte[picks[0]];
+                        for (int i = from; i < to; i++) {
+                            totals[0] += maxJoltage(rows.get(i).batteries(), picks[0], stack);
+                        }
+
+                        return totals;
+                    }
+                    for (int i = from; i < to; i++) {
+                        long[] joltages = maxJoltages(rows.get(i).batteries(), picks);
+                        for (int q = 0; q < picks.length; q++) {
+                            totals[q] += joltages[q];
+                        }
+                    }
+
+                    return totals;
+                }
             }
 
         }
 
-        public static void main(String[] args) {
+        // with arguments "<k>[,<k>...] [input file]" prints the total joltage for every pick count, from one scan
+        public static void main(String[] args) throws IOException {
+            if (args.length > 0) {
+                int[] picks = Arrays.stream(args[0].split(",")).mapToInt(Integer::parseInt).toArray();
+                ByteReader reader;
+                if (args.length > 1) {
+                    reader = ByteReader.map(Path.of(args[1]));
+                } else {
+                    try (InputStream is = Main.class.getResourceAsStream("/day3/input.in")) {
+                        reader = ByteReader.of(is.readAllBytes());
+                    }
+                }
+                long[] joltages = joltages(reader, picks);
+                for (int q = 0; q < picks.length; q++) {
+                    System.out.printf("%d picks: %d%n", picks[q], joltages[q]);
+                }
+                return;
+            }
             InputStream is = Main.class.getResourceAsStream("/day3/input.in");
             assert is != null;
             try (Scanner scanner = new Scanner(new InputStreamReader(is, StandardCharsets.UTF_8))) {
@@ -103,4 +290,114 @@ public class Main {
         }
 
     }
+
+    /**
+     * Total joltage of every row for each of the pick counts, all answered from a single scan per row.
+     * Rows are split across the common pool.
+     */
+    public static long[] joltages(ByteReader reader, int... picks) {
+        for (int k : picks) {
+            if (k < 1 || k > Parser.Day3.MAX_PICKS) {
+                throw new IllegalArgumentException("picks must be between 1 and " + Parser.Day3.MAX_PICKS + ", got " + k);
+            }
+        }
+        Input input = new Day3ByteParser(reader).parse();
+
+        return new Parser.Day3(false, ForkJoinPool.commonPool()).joltages(input, picks);
+    }
+
+    static class Day3ByteParser extends ByteParser<Input> {
+
+        public Day3ByteParser(ByteReader reader) {
+            super(reader);
+        }
+
+        static void rows(ByteReader reader, Consumer<BatteryRow> consumer) {
+            while (reader.nextLine()) {
+                if (reader.lineStart() == reader.lineEnd()) {
+                    continue;
+                }
+                byte[] batteries = new byte[reader.lineEnd() - reader.lineStart()];
+                for (int i = 0; i < batteries.length; i++) {
+                    batteries[i] = (byte) (reader.byteAt(reader.lineStart() + i) - '0');
+                }
+                consumer.accept(new BatteryRow(batteries));
+            }
+        }
+
+        @Override
+        public Input parse() {
+            Input input = new Input(new ArrayList<>());
+            rows(reader, input.batteryRows()::add);
+
+            return input;
+        }
+    }
+
+    static class Day3StreamingParser extends LineStreamingParser<BatteryRow> {
+
+        public Day3StreamingParser(ReadableByteChannel channel) {
+            super(channel);
+        }
+
+        @Override
+        protected void parseChunk(ByteReader chunk, Consumer<BatteryRow> consumer) {
+            Day3ByteParser.rows(chunk, consumer);
+        }
+    }
+
+    static class JoltageFold implements StreamingSolver<BatteryRow, Output> {
+
+        final private Parser.Day3 day3;
+        final private byte[] stack;
+        private long joltage;
+
+        JoltageFold(boolean part2) {
+            this.day3 = new Parser.Day3(part2);
+            this.stack = new byte[day3.numberOfPicks()];
+            this.joltage = 0;
+        }
+
+        @Override
+        public void accept(BatteryRow row) {
+            joltage += day3.maxJoltage(row.batteries(), day3.numberOfPicks(), stack);
+        }
+
+        @Override
+        public Output result() {
+            return new Output(joltage);
+        }
+    }
+
+    public static final StreamingPuzzle<Input, BatteryRow, Output> PUZZLE = new StreamingPuzzle<>() {
+        @Override
+        public com.panagiotispetridis.common.Parser<Input> parser(Scanner scanner, boolean part2) {
+            return new Parser(scanner);
+        }
+
+        @Override
+        public ByteParser<Input> byteParser(ByteReader reader, boolean part2) {
+            return new Day3ByteParser(reader);
+        }
+
+        @Override
+        public Solver<Input, Output> solver(boolean part2) {
+            return new Parser.Day3(part2, ForkJoinPool.commonPool());
+        }
+
+        @Override
+        public StreamingParser<BatteryRow> streamingParser(ReadableByteChannel channel, boolean part2) {
+            return new Day3StreamingParser(channel);
+        }
+
+        @Override
+        public StreamingSolver<BatteryRow, Output> streamingSolver(boolean part2) {
+            return new JoltageFold(part2);
+        }
+
+        @Override
+        public String answer(Output output) {
+            return output.joltage().toString();
+        }
+    };
 }
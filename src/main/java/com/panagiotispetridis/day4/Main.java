@@ -1,11 +1,23 @@
 package com.panagiotispetridis.day4;
 
+import com.panagiotispetridis.common.ByteParser;
+import com.panagiotispetridis.common.ByteReader;
+import com.panagiotispetridis.common.Grid;
+import com.panagiotispetridis.common.MappedGrid;
+import com.panagiotispetridis.common.Puzzle;
 import com.panagiotispetridis.common.Solver;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
 
 public class Main {
 
@@ -30,30 +42,53 @@ public class Main {
         }
     }
 
-    static class Grid<T> {
-        final private List<List<T>> data;
+    // one bit per cell (set for PAPER), each row packed into its own long[] with the padding bits clear
+    static class BitGrid implements Grid<Tile> {
+        final private long[][] rows;
+        final private int width;
 
-        public Grid(List<List<T>> data) {
-            this.data = data;
+        public BitGrid(long[][] rows, int width) {
+            this.rows = rows;
+            this.width = width;
         }
 
-        public T at(int i, int j) {
+        public static int words(int width) {
+            return (width + 63) >>> 6;
+        }
+
+        @Override
+        public Tile at(int i, int j) {
             if (i < 0 || j < 0 || i >= height() || j >= width()) {
                 return null;
             }
-            return this.data.get(i).get(j);
+            return paper(i, j) ? Tile.PAPER : Tile.EMPTY;
+        }
+
+        public boolean paper(int i, int j) {
+            return (rows[i][j >>> 6] & (1L << j)) != 0;
+        }
+
+        @Override
+        public void set(int i, int j, Tile t) {
+            if (t == Tile.PAPER) {
+                rows[i][j >>> 6] |= 1L << j;
+            } else {
+                rows[i][j >>> 6] &= ~(1L << j);
+            }
         }
 
-        public void set(int i, int j, T t) {
-            this.data.get(i).set(j, t);
+        public long[] row(int i) {
+            return rows[i];
         }
 
-        public long height() {
-            return data.size();
+        @Override
+        public int height() {
+            return rows.length;
         }
 
-        public long width() {
-            return data.getFirst().size();
+        @Override
+        public int width() {
+            return width;
         }
 
         @Override
@@ -70,7 +105,7 @@ public class Main {
         }
     }
 
-    record Input(Grid<Tile> grid) {}
+    record Input(BitGrid grid) {}
 
     record Output(long accessibleRolls) {}
 
@@ -82,25 +117,79 @@ public class Main {
 
         @Override
         public Input parse() {
-            List<List<Tile>> data = new ArrayList<>();
+            List<long[]> rows = new ArrayList<>();
+            int width = 0;
             while (scanner.hasNextLine()) {
                 String line = scanner.nextLine();
-                List<Tile> row = new ArrayList<>();
+                // blank lines are not rows, as in Day4ByteParser
+                if (line.isEmpty()) {
+                    continue;
+                }
+                width = Math.max(width, line.length());
+                long[] row = new long[BitGrid.words(line.length())];
                 for (int i = 0; i < line.length(); i++) {
-                    row.add(Tile.fromChar(line.charAt(i)));
+                    if (Tile.fromChar(line.charAt(i)) == Tile.PAPER) {
+                        row[i >>> 6] |= 1L << i;
+                    }
+                }
+                rows.add(row);
+            }
+
+            return new Input(grid(rows, width));
+        }
+
+        // rows padded to a common number of words
+        static BitGrid grid(List<long[]> rows, int width) {
+            long[][] packed = new long[rows.size()][];
+            for (int i = 0; i < packed.length; i++) {
+                packed[i] = Arrays.copyOf(rows.get(i), BitGrid.words(width));
+            }
+
+            return new BitGrid(packed, width);
+        }
+    }
+
+    static class Day4ByteParser extends ByteParser<Input> {
+
+        public Day4ByteParser(ByteReader reader) {
+            super(reader);
+        }
+
+        @Override
+        public Input parse() {
+            List<long[]> rows = new ArrayList<>();
+            int width = 0;
+            while (reader.nextLine()) {
+                int start = reader.lineStart();
+                int length = reader.lineEnd() - start;
+                if (length == 0) {
+                    continue;
+                }
+                width = Math.max(width, length);
+                long[] row = new long[BitGrid.words(length)];
+                for (int i = 0; i < length; i++) {
+                    if (reader.byteAt(start + i) != '.') {
+                        row[i >>> 6] |= 1L << i;
+                    }
                 }
-                data.add(row);
+                rows.add(row);
             }
 
-            return new Input(new Grid<>(data));
+            return new Input(Parser.grid(rows, width));
         }
     }
 
     static class Day4 implements Solver<Input, Output> {
         final private boolean part2;
+        final private ForkJoinPool pool;
 
         public Day4(boolean part2) {
+            this(part2, null);
+        }
+
+        public Day4(boolean part2, ForkJoinPool pool) {
             this.part2 = part2;
+            this.pool = pool;
         }
 
         record Position(int y, int x) {}
@@ -120,7 +209,7 @@ public class Main {
             );
         }
 
-        boolean isRollAccessible(Grid<Tile> grid, int y, int x) {
+        boolean isRollAccessible(BitGrid grid, int y, int x) {
             long counter = 0;
             for (Position position : adjacentPositions(new Position(y, x))) {
                 if (Tile.PAPER.equals(grid.at(position.y(), position.x()))) {
@@ -131,7 +220,7 @@ public class Main {
             return counter < 4;
         }
 
-        List<Position> adjacentAccessibleRolls(Grid<Tile> grid, Position position) {
+        List<Position> adjacentAccessibleRolls(BitGrid grid, Position position) {
             List<Position> rolls = new ArrayList<>();
             for (Position adjacentPosition : adjacentPositions(position)) {
                 if (Tile.PAPER.equals(grid.at(adjacentPosition.y(), adjacentPosition.x()))
@@ -143,7 +232,7 @@ public class Main {
             return rolls;
         }
 
-        List<Position> accessibleRolls(Grid<Tile> grid) {
+        List<Position> accessibleRolls(BitGrid grid) {
             List<Position> accessible = new ArrayList<>();
             for (int y = 0; y < grid.height(); y++) {
                 for (int x = 0; x < grid.width(); x++) {
@@ -159,13 +248,255 @@ public class Main {
             return accessible;
         }
 
+        /**
+         * Part 1 on 64 cells at a time. The eight neighbour boards of a word are the row above, the row
+         * itself and the row below shifted one cell each way, and a carry-save adder tree sums them bit
+         * by bit. A cell has at least 4 neighbours exactly when one of the weight-4 carries is set.
+         */
+        long countAccessibleRolls(BitGrid grid) {
+            int height = grid.height();
+            long[] empty = new long[BitGrid.words(grid.width())];
+            long count = 0;
+            for (int y = 0; y < height; y++) {
+                long[] up = y > 0 ? grid.row(y - 1) : empty;
+                long[] down = y + 1 < height ? grid.row(y + 1) : empty;
+                count += accessibleInRow(up, grid.row(y), down);
+            }
+
+            return count;
+        }
+
+        static long accessibleInRow(long[] up, long[] row, long[] down) {
+            int words = row.length;
+            long count = 0;
+            for (int w = 0; w < words; w++) {
+                long upWord = up[w];
+                long rowWord = row[w];
+                long downWord = down[w];
+                // bit j of a "left" board is cell j - 1, of a "right" board cell j + 1
+                long upLeft = upWord << 1 | (w > 0 ? up[w - 1] >>> 63 : 0);
+                long upRight = upWord >>> 1 | (w + 1 < words ? up[w + 1] << 63 : 0);
+                long left = rowWord << 1 | (w > 0 ? row[w - 1] >>> 63 : 0);
+                long right = rowWord >>> 1 | (w + 1 < words ? row[w + 1] << 63 : 0);
+                long downLeft = downWord << 1 | (w > 0 ? down[w - 1] >>> 63 : 0);
+                long downRight = downWord >>> 1 | (w + 1 < words ? down[w + 1] << 63 : 0);
+
+                // weight 1: three full adders and a half adder
+                long s1 = upLeft ^ upWord ^ upRight;
+                long c1 = (upLeft & upWord) | (upRight & (upLeft ^ upWord));
+                long s2 = left ^ right ^ downLeft;
+                long c2 = (left & right) | (downLeft & (left ^ right));
+                long s3 = downWord ^ downRight;
+                long c3 = downWord & downRight;
+                long c4 = (s1 & s2) | (s3 & (s1 ^ s2));
+                // weight 2: the four carries, whatever carries out of them is weight 4
+                long t = c1 ^ c2 ^ c3;
+                long c5 = (c1 & c2) | (c3 & (c1 ^ c2));
+                long c6 = t & c4;
+
+                count += Long.bitCount(rowWord & ~(c5 | c6));
+            }
+
+            return count;
+        }
+
+        // part 1 on a grid of any size, reading it three rows at a time into packed bit rows
+        long countAccessibleRolls(MappedGrid<Tile> grid) {
+            int width = grid.width();
+            int height = grid.height();
+            byte[] cells = new byte[width];
+            long[] up = new long[BitGrid.words(width)];
+            long[] row = pack(grid.row(0, cells), new long[up.length]);
+            long[] down = new long[up.length];
+            long count = 0;
+            for (int y = 0; y < height; y++) {
+                if (y + 1 < height) {
+                    pack(grid.row(y + 1, cells), down);
+                } else {
+                    Arrays.fill(down, 0);
+                }
+                count += accessibleInRow(up, row, down);
+                long[] swap = up;
+                up = row;
+                row = down;
+                down = swap;
+            }
+
+            return count;
+        }
+
+        static long[] pack(byte[] cells, long[] bits) {
+            Arrays.fill(bits, 0);
+            for (int x = 0; x < cells.length; x++) {
+                if (cells[x] != '.') {
+                    bits[x >>> 6] |= 1L << x;
+                }
+            }
+
+            return bits;
+        }
+
+        /**
+         * Part 2 on a grid of any size: sweeps the grid removing every accessible roll in place, reading
+         * a window of three rows, until a sweep removes nothing. A removal is seen by the rest of its sweep,
+         * so sweeps alternate between down and up, and a cascade running either way is followed in one of
+         * them rather than one row per sweep. Like the worklist the fixpoint does not depend on the order
+         * rolls are taken in. The removals are written back, so the grid has to be a writable copy of the input.
+         */
+        long removeRollsInSweeps(MappedGrid<Tile> grid) {
+            if (!grid.writable()) {
+                throw new IllegalArgumentException("rolls are removed in place, the grid must be writable");
+            }
+            long total = 0;
+            long removed;
+            boolean downwards = true;
+            do {
+                removed = sweep(grid, downwards);
+                total += removed;
+                downwards = !downwards;
+            } while (removed > 0);
+
+            return total;
+        }
+
+        // one pass down (or up) the grid, returns how many rolls it removed
+        static long sweep(MappedGrid<Tile> grid, boolean downwards) {
+            int width = grid.width();
+            int height = grid.height();
+            int step = downwards ? 1 : -1;
+            byte[] behind = new byte[width];
+            byte[] row = new byte[width];
+            byte[] ahead = new byte[width];
+            Arrays.fill(behind, (byte) '.');
+            int y = downwards ? 0 : height - 1;
+            grid.row(y, row);
+            long removed = 0;
+            for (int i = 0; i < height; i++, y += step) {
+                if (i + 1 < height) {
+                    grid.row(y + step, ahead);
+                } else {
+                    Arrays.fill(ahead, (byte) '.');
+                }
+                long before = removed;
+                for (int x = 0; x < width; x++) {
+                    if (row[x] == '.') {
+                        continue;
+                    }
+                    int count = 0;
+                    for (int dx = Math.max(0, x - 1); dx <= Math.min(width - 1, x + 1); dx++) {
+                        count += (behind[dx] != '.' ? 1 : 0) + (ahead[dx] != '.' ? 1 : 0) + (dx != x && row[dx] != '.' ? 1 : 0);
+                    }
+                    if (count < 4) {
+                        row[x] = '.';
+                        removed++;
+                    }
+                }
+                if (removed != before) {
+                    grid.writeRow(y, row);
+                }
+                byte[] swap = behind;
+                behind = row;
+                row = ahead;
+                ahead = swap;
+            }
+
+            return removed;
+        }
+
+        /**
+         * Part 2 as a worklist. Paper cells get their neighbour count once, in a grid padded by one cell
+         * so the eight neighbours are fixed offsets. Empty and already queued cells hold -1, so any cell
+         * still at 4 or more is a roll that has not been removed, and it is queued the moment a removal
+         * drops it below 4. Removal only ever lowers counts, so the order does not change the total.
+         */
+        long countRemovableRolls(BitGrid grid) {
+            int height = grid.height();
+            int width = grid.width();
+            int stride = width + 2;
+            byte[] counts = new byte[Math.multiplyExact(height + 2, stride)];
+            Arrays.fill(counts, (byte) -1);
+            int rolls = placeRolls(grid, counts, stride, 0, height);
+
+            int[] neighbours = {-stride - 1, -stride, -stride + 1, -1, 1, stride - 1, stride, stride + 1};
+            int[] queue = new int[rolls];
+            int tail = countNeighbours(counts, stride, width, 0, height, queue, 0);
+            // marked only now, the counts above still need them as rolls
+            for (int i = 0; i < tail; i++) {
+                counts[queue[i]] = -1;
+            }
+
+            for (int head = 0; head < tail; head++) {
+                int cell = queue[head];
+                for (int offset : neighbours) {
+                    int neighbour = cell + offset;
+                    if (counts[neighbour] >= 4 && --counts[neighbour] < 4) {
+                        counts[neighbour] = -1;
+                        queue[tail++] = neighbour;
+                    }
+                }
+            }
+
+            return tail;
+        }
+
+        // sets the rolls of grid rows [from, to) to 0 in the padded counts and returns how many there are
+        static int placeRolls(BitGrid grid, byte[] counts, int stride, int from, int to) {
+            int rolls = 0;
+            for (int y = from; y < to; y++) {
+                long[] row = grid.row(y);
+                for (int w = 0; w < row.length; w++) {
+                    for (long bits = row[w]; bits != 0; bits &= bits - 1) {
+                        counts[(y + 1) * stride + (w << 6) + Long.numberOfTrailingZeros(bits) + 1] = 0;
+                        rolls++;
+                    }
+                }
+            }
+
+            return rolls;
+        }
+
+        // neighbour counts for the rolls of grid rows [from, to), the ones below 4 are queued (but not marked)
+        static int countNeighbours(byte[] counts, int stride, int width, int from, int to, int[] queue, int tail) {
+            for (int y = from; y < to; y++) {
+                for (int x = 0; x < width; x++) {
+                    int cell = (y + 1) * stride + x + 1;
+                    if (counts[cell] < 0) {
+                        continue;
+                    }
+                    // (count >> 7) is -1 for an empty neighbour and 0 for a roll
+                    int up = cell - stride;
+                    int down = cell + stride;
+                    counts[cell] = (byte) (8
+                            + (counts[up - 1] >> 7) + (counts[up] >> 7) + (counts[up + 1] >> 7)
+                            + (counts[cell - 1] >> 7) + (counts[cell + 1] >> 7)
+                            + (counts[down - 1] >> 7) + (counts[down] >> 7) + (counts[down + 1] >> 7));
+                    if (counts[cell] < 4) {
+                        queue[tail++] = cell;
+                    }
+                }
+            }
+
+            return tail;
+        }
+
         @Override
         public Output solve(Input input) {
-            List<Position> rolls = accessibleRolls(input.grid());
             if (!part2) {
-                return new Output(rolls.size());
+                return new Output(countAccessibleRolls(input.grid()));
             }
 
+            BitGrid grid = input.grid();
+            if (pool != null && pool.getParallelism() > 1 && grid.height() >= 2 * TiledCascade.MIN_ROWS) {
+                return new Output(new TiledCascade(grid, pool).count());
+            }
+
+            return new Output(countRemovableRolls(grid));
+        }
+
+        // round by round reference for countRemovableRolls, clears the removed rolls from the grid
+        long removeRolls(BitGrid grid) {
+            List<Position> rolls = accessibleRolls(grid);
+
             Set<Position> seen = new HashSet<>();
             long total = 0;
             while(!rolls.isEmpty()) {
@@ -177,20 +508,259 @@ public class Main {
                         seen.add(position);
                         removed.add(position);
                     }
-                    input.grid().set(position.y, position.x, Tile.EMPTY);
+                    grid.set(position.y, position.x, Tile.EMPTY);
                 }
                 List<Position> newRolls = new ArrayList<>();
                 for (Position position : removed) {
-                    newRolls.addAll(adjacentAccessibleRolls(input.grid(), position));
+                    newRolls.addAll(adjacentAccessibleRolls(grid, position));
                 }
                 rolls = newRolls;
             }
 
-            return new Output(total);
+            return total;
         }
     }
 
-    public static void main(String[] args) {
+    /**
+     * countRemovableRolls split into row stripes. A stripe owns the counts of its cells and is the only one
+     * to write them, so stripes can drain their worklists concurrently. Removals on a stripe's first or last
+     * row are collected, and between rounds each stripe applies the ones from its neighbours to its own edge
+     * rows. Rounds repeat until no stripe has work left. The removed set is order independent, so the total
+     * is the sequential one.
+     */
+    static class TiledCascade {
+
+        static final int MIN_ROWS = 64;
+
+        final private BitGrid grid;
+        final private ForkJoinPool pool;
+        final private int width;
+        final private int stride;
+        final private byte[] counts;
+        final private int[] neighbours;
+        final private Stripe[] stripes;
+
+        TiledCascade(BitGrid grid, ForkJoinPool pool) {
+            this.grid = grid;
+            this.pool = pool;
+            int height = grid.height();
+            this.width = grid.width();
+            this.stride = width + 2;
+            this.counts = new byte[Math.multiplyExact(height + 2, stride)];
+            this.neighbours = new int[]{-stride - 1, -stride, -stride + 1, -1, 1, stride - 1, stride, stride + 1};
+
+            int rows = Math.max(MIN_ROWS, height / (pool.getParallelism() * 4));
+            this.stripes = new Stripe[(height + rows - 1) / rows];
+            for (int i = 0; i < stripes.length; i++) {
+                stripes[i] = new Stripe(i, i * rows, Math.min(height, (i + 1) * rows));
+            }
+        }
+
+        long count() {
+            // every phase reads cells of neighbouring stripes that the previous phase wrote
+            each(Stripe::place);
+            each(Stripe::count);
+            each(Stripe::mark);
+            while (Arrays.stream(stripes).anyMatch(Stripe::pending)) {
+                each(Stripe::drain);
+                each(Stripe::absorb);
+                each(Stripe::clear);
+            }
+
+            long total = 0;
+            for (Stripe stripe : stripes) {
+                total += stripe.tail;
+            }
+
+            return total;
+        }
+
+        private void each(Consumer<Stripe> phase) {
+            pool.invoke(new Stripes(0, stripes.length, phase));
+        }
+
+        @SuppressWarnings("serial")
+        private class Stripes extends RecursiveAction {
+
+            final private int from;
+            final private int to;
+            final private Consumer<Stripe> phase;
+
+            Stripes(int from, int to, Consumer<Stripe> phase) {
+                this.from = from;
+                this.to = to;
+                this.phase = phase;
+            }
+
+            @Override
+            protected void compute() {
+                if (to - from == 1) {
+                    phase.accept(stripes[from]);
+                    return;
+                }
+                int mid = (from + to) >>> 1;
+                invokeAll(new Stripes(from, mid, phase), new Stripes(mid, to, phase));
+            }
+        }
+
+        private class Stripe {
+
+            // grid rows [from, to), cells [low, high) of the padded counts
+            final private int index;
+            final private int from;
+            final private int to;
+            final private int low;
+            final private int high;
+            private int[] queue;
+            private int head;
+            private int tail;
+            // drained removals on the first and last row since the last exchange
+            private int[] first = new int[16];
+            private int firstSize;
+            private int[] last = new int[16];
+            private int lastSize;
+
+            Stripe(int index, int from, int to) {
+                this.index = index;
+                this.from = from;
+                this.to = to;
+                this.low = (from + 1) * stride;
+                this.high = (to + 1) * stride;
+            }
+
+            void place() {
+                // the first and last stripe also own the padding rows
+                Arrays.fill(counts, from == 0 ? 0 : low, to == grid.height() ? counts.length : high, (byte) -1);
+                queue = new int[Day4.placeRolls(grid, counts, stride, from, to)];
+            }
+
+            void count() {
+                tail = Day4.countNeighbours(counts, stride, width, from, to, queue, 0);
+            }
+
+            void mark() {
+                for (int i = 0; i < tail; i++) {
+                    counts[queue[i]] = -1;
+                }
+            }
+
+            boolean pending() {
+                return head < tail;
+            }
+
+            void drain() {
+                for (; head < tail; head++) {
+                    int cell = queue[head];
+                    // recorded when drained rather than when queued, absorb can queue while neighbours read
+                    if (cell < low + stride) {
+                        if (firstSize == first.length) {
+                            first = Arrays.copyOf(first, firstSize * 2);
+                        }
+                        first[firstSize++] = cell;
+                    }
+                    if (cell >= high - stride) {
+                        if (lastSize == last.length) {
+                            last = Arrays.copyOf(last, lastSize * 2);
+                        }
+                        last[lastSize++] = cell;
+                    }
+                    for (int offset : neighbours) {
+                        int neighbour = cell + offset;
+                        if (neighbour >= low && neighbour < high) {
+                            lower(neighbour);
+                        }
+                    }
+                }
+            }
+
+            // neighbours' edge removals hit the three cells below (or above) them in this stripe
+            void absorb() {
+                if (index > 0) {
+                    Stripe above = stripes[index - 1];
+                    for (int i = 0; i < above.lastSize; i++) {
+                        int cell = above.last[i] + stride;
+                        lower(cell - 1);
+                        lower(cell);
+                        lower(cell + 1);
+                    }
+                }
+                if (index + 1 < stripes.length) {
+                    Stripe below = stripes[index + 1];
+                    for (int i = 0; i < below.firstSize; i++) {
+                        int cell = below.first[i] - stride;
+                        lower(cell - 1);
+                        lower(cell);
+                        lower(cell + 1);
+                    }
+                }
+            }
+
+            // after every stripe has absorbed them
+            void clear() {
+                firstSize = 0;
+                lastSize = 0;
+            }
+
+            private void lower(int cell) {
+                if (counts[cell] >= 4 && --counts[cell] < 4) {
+                    counts[cell] = -1;
+                    queue[tail++] = cell;
+                }
+            }
+        }
+    }
+
+    public static final Puzzle<Input, Output> PUZZLE = new Puzzle<>() {
+        @Override
+        public com.panagiotispetridis.common.Parser<Input> parser(Scanner scanner, boolean part2) {
+            return new Parser(scanner);
+        }
+
+        @Override
+        public ByteParser<Input> byteParser(ByteReader reader, boolean part2) {
+            return new Day4ByteParser(reader);
+        }
+
+        @Override
+        public Solver<Input, Output> solver(boolean part2) {
+            return new Day4(part2, ForkJoinPool.commonPool());
+        }
+
+        @Override
+        public String answer(Output output) {
+            return Long.toString(output.accessibleRolls());
+        }
+    };
+
+    /**
+     * With a file argument the grid is memory-mapped rather than parsed, for inputs larger than the heap:
+     * day4.Main input [scratch dir | --in-place]. Part 2 removes rolls as it goes, so by default it works on
+     * a copy of the input in the scratch directory (java.io.tmpdir unless given), which needs free disk space
+     * equal to the input size. --in-place removes the rolls from the input itself instead, leaving it changed.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0) {
+            Path file = Path.of(args[0]);
+            MappedGrid<Tile> grid = MappedGrid.open(file, false, Tile.class, c -> Tile.fromChar((char) c));
+            Day4 day4 = new Day4(true);
+            System.out.printf("Accessible: %s%n", day4.countAccessibleRolls(grid));
+            if (args.length > 1 && "--in-place".equals(args[1])) {
+                MappedGrid<Tile> writable = MappedGrid.open(file, true, Tile.class, c -> Tile.fromChar((char) c));
+                System.out.printf("Removable: %s%n", day4.removeRollsInSweeps(writable));
+                return;
+            }
+            Path scratch = args.length > 1
+                    ? Files.createTempFile(Path.of(args[1]), "day4", ".grid")
+                    : Files.createTempFile("day4", ".grid");
+            try {
+                Files.copy(file, scratch, StandardCopyOption.REPLACE_EXISTING);
+                MappedGrid<Tile> copy = MappedGrid.open(scratch, true, Tile.class, c -> Tile.fromChar((char) c));
+                System.out.printf("Removable: %s%n", day4.removeRollsInSweeps(copy));
+            } finally {
+                Files.deleteIfExists(scratch);
+            }
+            return;
+        }
         InputStream is = Main.class.getResourceAsStream("/day4/input.in");
         assert is != null;
         try (Scanner scanner = new Scanner(new InputStreamReader(is, StandardCharsets.UTF_8))) {
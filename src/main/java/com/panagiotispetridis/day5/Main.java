@@ -1,15 +1,20 @@
 package com.panagiotispetridis.day5;
 
+import com.panagiotispetridis.common.ByteParser;
+import com.panagiotispetridis.common.ByteReader;
 import com.panagiotispetridis.common.Parser;
+import com.panagiotispetridis.common.Puzzle;
 import com.panagiotispetridis.common.Solver;
 
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Scanner;
 import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class Main {
 
@@ -75,6 +80,32 @@ public class Main {
         }
     }
 
+    static class Day5ByteParser extends ByteParser<Input> {
+        public Day5ByteParser(ByteReader reader) {
+            super(reader);
+        }
+
+        @Override
+        public Input parse() {
+            Input input = new Input(new ArrayList<>(), new ArrayList<>());
+            while (reader.nextLine() && reader.lineStart() != reader.lineEnd()) {
+                int dash = reader.indexOf((byte) '-', reader.lineStart(), reader.lineEnd());
+                input.ranges().add(new Range(
+                        reader.parseLong(reader.lineStart(), dash),
+                        reader.parseLong(dash + 1, reader.lineEnd())
+                ));
+            }
+
+            while (reader.nextLine()) {
+                if (reader.lineStart() != reader.lineEnd()) {
+                    input.queries().add(reader.parseLong(reader.lineStart(), reader.lineEnd()));
+                }
+            }
+
+            return input;
+        }
+    }
+
     static class RangeTree {
         final private TreeSet<Range> ranges;
 
@@ -116,39 +147,324 @@ public class Main {
 
             return sum;
         }
+
+        // the merged ranges never change after the build, so lookups can go to flat arrays
+        public RangeIndex freeze() {
+            long[] starts = new long[ranges.size()];
+            long[] ends = new long[ranges.size()];
+            int i = 0;
+            for (Range r : ranges) {
+                starts[i] = r.start();
+                ends[i] = r.end();
+                i++;
+            }
+
+            return new RangeIndex(starts, ends);
+        }
+    }
+
+    /**
+     * Disjoint ranges sorted by start as two parallel arrays. Single lookups are a binary search whose
+     * only data dependent step is a conditional move, batches of queries are sorted and merge-joined.
+     * Ranges that touch (one ends right before the next starts) are merged too, so a set of ids has
+     * exactly one index however it was built.
+     */
+    static class RangeIndex {
+        final private long[] starts;
+        final private long[] ends;
+
+        RangeIndex(long[] starts, long[] ends) {
+            this.starts = starts;
+            this.ends = ends;
+        }
+
+        /**
+         * Coalesces the ranges starts[i]-ends[i] without a tree. Starts and ends are sorted on their own:
+         * a merged range closes wherever the k-th smallest end is below the (k+1)-th smallest start, so
+         * one sweep over both sorted arrays finds the same union. Both arrays are reused for the result.
+         */
+        static RangeIndex build(long[] starts, long[] ends) {
+            Arrays.parallelSort(starts);
+            Arrays.parallelSort(ends);
+            int n = 0;
+            for (int i = 0; i < starts.length; i++) {
+                if (i == 0 || after(ends[i - 1]) < starts[i]) {
+                    starts[n++] = starts[i];
+                }
+                ends[n - 1] = ends[i];
+            }
+
+            return new RangeIndex(Arrays.copyOf(starts, n), Arrays.copyOf(ends, n));
+        }
+
+        // a copy with start-end merged in, ranges it overlaps or touches are joined into one
+        public RangeIndex with(long start, long end) {
+            checkRange(start, end);
+            int lo = firstEndAtLeast(before(start));
+            int hi = firstStartAbove(after(end));
+            if (lo < hi) {
+                start = Math.min(start, starts[lo]);
+                end = Math.max(end, ends[hi - 1]);
+            }
+
+            return splice(lo, hi, new long[]{start}, new long[]{end});
+        }
+
+        // a copy with start-end taken out, ranges it lands inside keep their parts on either side
+        public RangeIndex without(long start, long end) {
+            checkRange(start, end);
+            int lo = firstEndAtLeast(start);
+            int hi = firstStartAbove(end);
+            if (lo == hi) {
+                return this;
+            }
+            long[] keptStarts = new long[2];
+            long[] keptEnds = new long[2];
+            int kept = 0;
+            if (starts[lo] < start) {
+                keptStarts[kept] = starts[lo];
+                keptEnds[kept++] = start - 1;
+            }
+            if (ends[hi - 1] > end) {
+                keptStarts[kept] = end + 1;
+                keptEnds[kept++] = ends[hi - 1];
+            }
+
+            return splice(lo, hi, Arrays.copyOf(keptStarts, kept), Arrays.copyOf(keptEnds, kept));
+        }
+
+        // ranges from..to replaced by the given ones
+        private RangeIndex splice(int from, int to, long[] newStarts, long[] newEnds) {
+            int n = starts.length - (to - from) + newStarts.length;
+            long[] s = new long[n];
+            long[] e = new long[n];
+            System.arraycopy(starts, 0, s, 0, from);
+            System.arraycopy(ends, 0, e, 0, from);
+            System.arraycopy(newStarts, 0, s, from, newStarts.length);
+            System.arraycopy(newEnds, 0, e, from, newEnds.length);
+            System.arraycopy(starts, to, s, from + newStarts.length, starts.length - to);
+            System.arraycopy(ends, to, e, from + newStarts.length, ends.length - to);
+
+            return new RangeIndex(s, e);
+        }
+
+        // the ids next to a range, clamped so the ends of the long range don't wrap
+        private static long before(long id) {
+            return id == Long.MIN_VALUE ? id : id - 1;
+        }
+
+        private static long after(long id) {
+            return id == Long.MAX_VALUE ? id : id + 1;
+        }
+
+        private static void checkRange(long start, long end) {
+            if (start > end) {
+                throw new IllegalArgumentException("empty range " + start + "-" + end);
+            }
+        }
+
+        // first range that ends at or after item, ends are sorted because the ranges are disjoint
+        private int firstEndAtLeast(long item) {
+            int lo = 0;
+            int hi = ends.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (ends[mid] < item) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+
+            return lo;
+        }
+
+        // first range that starts after item
+        private int firstStartAbove(long item) {
+            int lo = 0;
+            int hi = starts.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (starts[mid] <= item) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+
+            return lo;
+        }
+
+        public int size() {
+            return starts.length;
+        }
+
+        public boolean contains(long item) {
+            if (starts.length == 0) {
+                return false;
+            }
+            // last range starting at or before item
+            int base = 0;
+            for (int n = starts.length; n > 1; n -= n >>> 1) {
+                int mid = base + (n >>> 1);
+                base = starts[mid] <= item ? mid : base;
+            }
+
+            return starts[base] <= item && item <= ends[base];
+        }
+
+        // how many of the queries fall in a range, queries is sorted in place
+        public long count(long[] queries) {
+            Arrays.parallelSort(queries);
+            long count = 0;
+            int i = 0;
+            for (long item : queries) {
+                while (i < ends.length && ends[i] < item) {
+                    i++;
+                }
+                if (i == ends.length) {
+                    break;
+                }
+                if (starts[i] <= item) {
+                    count++;
+                }
+            }
+
+            return count;
+        }
+
+        public long sum() {
+            long sum = 0;
+            for (int i = 0; i < starts.length; i++) {
+                sum += ends[i] - starts[i] + 1;
+            }
+
+            return sum;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof RangeIndex other && Arrays.equals(starts, other.starts) && Arrays.equals(ends, other.ends);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(starts) + Arrays.hashCode(ends);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder("[");
+            for (int i = 0; i < starts.length; i++) {
+                builder.append(i == 0 ? "" : ", ").append(starts[i]).append('-').append(ends[i]);
+            }
+
+            return builder.append(']').toString();
+        }
+    }
+
+    /**
+     * Range set for concurrent use. Every version is an immutable RangeIndex: writers build the next one
+     * with RangeIndex.with or without and publish it with a compare-and-set, readers take whichever
+     * version is current and never wait on a writer.
+     */
+    static class ConcurrentRangeSet {
+        final private AtomicReference<RangeIndex> current;
+
+        public ConcurrentRangeSet() {
+            this(new RangeIndex(new long[0], new long[0]));
+        }
+
+        public ConcurrentRangeSet(RangeIndex initial) {
+            this.current = new AtomicReference<>(initial);
+        }
+
+        public void add(long start, long end) {
+            current.updateAndGet(index -> index.with(start, end));
+        }
+
+        public void remove(long start, long end) {
+            current.updateAndGet(index -> index.without(start, end));
+        }
+
+        // a consistent view for several reads in a row, later writes don't show up in it
+        public RangeIndex snapshot() {
+            return current.get();
+        }
+
+        public boolean contains(long item) {
+            return current.get().contains(item);
+        }
+
+        public long sum() {
+            return current.get().sum();
+        }
     }
 
     static class Day5 implements Solver<Input, Output> {
         final private boolean part2;
-        final private RangeTree ranges;
 
         public Day5(boolean part2) {
             this.part2 = part2;
-            this.ranges = new RangeTree();
+        }
+
+        // tree-built reference for RangeIndex.build
+        RangeIndex merge(List<Range> ranges) {
+            RangeTree tree = new RangeTree();
+            List<Range> sorted = new ArrayList<>(ranges);
+            sorted.sort(Range::compareTo);
+            for (Range r : sorted) {
+                tree.add(r);
+            }
+
+            return tree.freeze();
         }
 
         @Override
         public Output solve(Input input) {
-            input.ranges().sort(Range::compareTo);
-            for (Range r : input.ranges()) {
-                ranges.add(r);
+            long[] starts = new long[input.ranges().size()];
+            long[] ends = new long[input.ranges().size()];
+            for (int i = 0; i < starts.length; i++) {
+                starts[i] = input.ranges().get(i).start();
+                ends[i] = input.ranges().get(i).end();
             }
 
+            RangeIndex index = RangeIndex.build(starts, ends);
             if (part2) {
-                return new Output(ranges.sum());
+                return new Output(index.sum());
             }
 
-            long numberOfFreshIngredients = 0;
-            for (long item : input.queries()) {
-                if (ranges.contains(item)) {
-                    numberOfFreshIngredients++;
-                }
+            long[] queries = new long[input.queries().size()];
+            for (int i = 0; i < queries.length; i++) {
+                queries[i] = input.queries().get(i);
             }
 
-            return new Output(numberOfFreshIngredients);
+            return new Output(index.count(queries));
         }
     }
 
+    public static final Puzzle<Input, Output> PUZZLE = new Puzzle<>() {
+        @Override
+        public Parser<Input> parser(Scanner scanner, boolean part2) {
+            return new Day5Parser(scanner);
+        }
+
+        @Override
+        public ByteParser<Input> byteParser(ByteReader reader, boolean part2) {
+            return new Day5ByteParser(reader);
+        }
+
+        @Override
+        public Solver<Input, Output> solver(boolean part2) {
+            return new Day5(part2);
+        }
+
+        @Override
+        public String answer(Output output) {
+            return Long.toString(output.numberOfFreshIngredients());
+        }
+    };
+
     public static void main(String[] args) {
         InputStream is = Main.class.getResourceAsStream("/day5/input.in");
         assert is != null;
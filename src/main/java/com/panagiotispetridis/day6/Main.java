@@ -2,11 +2,24 @@ package com.panagiotispetridis.day6;
 
 import com.panagiotispetridis.common.Parser;
 import com.panagiotispetridis.common.Solver;
+import com.panagiotispetridis.common.StreamingParser;
+import com.panagiotispetridis.common.StreamingPuzzle;
+import com.panagiotispetridis.common.StreamingSolver;
 
 import javax.sound.midi.SysexMessage;
+import java.io.EOFException;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.function.Consumer;
 
 public class Main {
 
@@ -162,6 +175,208 @@ public class Main {
         }
     }
 
+    // Problems run down the columns and the operator row comes last, so the sheet is read a window of
+    // columns at a time: the same byte range of every row is read by offset, and a problem is folded as
+    // soon as the blank column after it goes by. Memory is the window times the number of rows, however
+    // wide the sheet is. Channels that can't be read by offset (stdin, the bundled input) are copied to a
+    // temporary file first.
+    static class Day6StreamingParser extends StreamingParser<Problem> {
+
+        // bytes read per window, shared between the rows
+        static final int WINDOW_BYTES = 1 << 16;
+
+        // a line of the file without its line terminator
+        record Row(long start, long end) {
+            long length() {
+                return end - start;
+            }
+        }
+
+        final private boolean part2;
+
+        // the problem whose columns are being read, part1 builds a number per row, part2 one per column
+        private long[] rowNumbers;
+        private boolean[] rowDigits;
+        private long sum;
+        private long product;
+        private Operator operator;
+        private boolean open;
+
+        public Day6StreamingParser(ReadableByteChannel channel, boolean part2) {
+            super(channel);
+            this.part2 = part2;
+        }
+
+        @Override
+        public void parse(Consumer<Problem> consumer) {
+            try {
+                if (channel instanceof FileChannel file) {
+                    parse(file, consumer);
+                    return;
+                }
+                Path spool = Files.createTempFile("day6", ".in");
+                try (FileChannel file = FileChannel.open(spool,
+                        StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE)) {
+                    long copied = 0;
+                    long n;
+                    while ((n = file.transferFrom(channel, copied, WINDOW_BYTES)) > 0) {
+                        copied += n;
+                    }
+                    parse(file, consumer);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void parse(FileChannel file, Consumer<Problem> consumer) throws IOException {
+            List<Row> rows = rows(file);
+            if (rows.isEmpty()) {
+                return;
+            }
+            int numberRows = rows.size() - 1;
+            long width = 0;
+            for (Row row : rows) {
+                width = Math.max(width, row.length());
+            }
+            rowNumbers = new long[numberRows];
+            rowDigits = new boolean[numberRows];
+            reset();
+
+            int window = Math.max(256, WINDOW_BYTES / rows.size());
+            byte[][] columns = new byte[rows.size()][window];
+            for (long from = 0; from < width; from += window) {
+                int n = (int) Math.min(window, width - from);
+                for (int r = 0; r < rows.size(); r++) {
+                    read(file, rows.get(r), from, columns[r], n);
+                }
+                for (int c = 0; c < n; c++) {
+                    column(columns, c, consumer);
+                }
+            }
+            close(consumer);
+        }
+
+        // every non-empty line, found in one sequential pass
+        static List<Row> rows(FileChannel file) throws IOException {
+            List<Row> rows = new ArrayList<>();
+            ByteBuffer buffer = ByteBuffer.allocate(WINDOW_BYTES);
+            long position = 0;
+            long lineStart = 0;
+            byte previous = 0;
+            int read;
+            while ((read = file.read(buffer.clear(), position)) > 0) {
+                for (int i = 0; i < read; i++) {
+                    byte b = buffer.get(i);
+                    if (b == '\n') {
+                        long end = position + i - (previous == '\r' ? 1 : 0);
+                        if (end > lineStart) {
+                            rows.add(new Row(lineStart, end));
+                        }
+                        lineStart = position + i + 1;
+                    }
+                    previous = b;
+                }
+                position += read;
+            }
+            long end = position - (previous == '\r' ? 1 : 0);
+            if (end > lineStart) {
+                rows.add(new Row(lineStart, end));
+            }
+
+            return rows;
+        }
+
+        // columns from..from+n of the row, blank past its end
+        static void read(FileChannel file, Row row, long from, byte[] dst, int n) throws IOException {
+            int length = (int) Math.max(0, Math.min(n, row.length() - from));
+            ByteBuffer buffer = ByteBuffer.wrap(dst, 0, length);
+            while (buffer.hasRemaining()) {
+                if (file.read(buffer, row.start() + from + buffer.position()) < 0) {
+                    throw new EOFException("day6 input changed while reading it");
+                }
+            }
+            Arrays.fill(dst, length, n, (byte) ' ');
+        }
+
+        void column(byte[][] columns, int c, Consumer<Problem> consumer) {
+            boolean blank = true;
+            for (byte[] row : columns) {
+                if (row[c] != ' ') {
+                    blank = false;
+                    break;
+                }
+            }
+            if (blank) {
+                close(consumer);
+                return;
+            }
+            open = true;
+            byte symbol = columns[rowNumbers.length][c];
+            if (operator == null && symbol != ' ') {
+                operator = symbol == '+' ? Operator.ADDITION : Operator.MULTIPLICATION;
+            }
+
+            long number = 0;
+            boolean digits = false;
+            for (int r = 0; r < rowNumbers.length; r++) {
+                byte b = columns[r][c];
+                if (b < '0' || b > '9') {
+                    continue;
+                }
+                rowNumbers[r] = rowNumbers[r] * 10 + (b - '0');
+                rowDigits[r] = true;
+                number = number * 10 + (b - '0');
+                digits = true;
+            }
+            if (part2 && digits) {
+                sum += number;
+                product *= number;
+            }
+        }
+
+        // folded down to the single value the problem evaluates to
+        void close(Consumer<Problem> consumer) {
+            if (!open) {
+                return;
+            }
+            if (!part2) {
+                for (int r = 0; r < rowNumbers.length; r++) {
+                    if (rowDigits[r]) {
+                        sum += rowNumbers[r];
+                        product *= rowNumbers[r];
+                    }
+                }
+            }
+            Operator op = operator == null ? Operator.MULTIPLICATION : operator;
+            consumer.accept(new Problem(List.of(Operator.ADDITION.equals(op) ? sum : product), op));
+            reset();
+        }
+
+        void reset() {
+            Arrays.fill(rowNumbers, 0);
+            Arrays.fill(rowDigits, false);
+            sum = 0;
+            product = 1;
+            operator = null;
+            open = false;
+        }
+    }
+
+    static class Day6Fold implements StreamingSolver<Problem, Output> {
+        private long result = 0;
+
+        @Override
+        public void accept(Problem p) {
+            result += p.evaluate();
+        }
+
+        @Override
+        public Output result() {
+            return new Output(result);
+        }
+    }
+
     static class Day6 implements Solver<Input, Output> {
 
         public Day6() {}
@@ -177,6 +392,33 @@ public class Main {
         }
     }
 
+    public static final StreamingPuzzle<Input, Problem, Output> PUZZLE = new StreamingPuzzle<>() {
+        @Override
+        public Parser<Input> parser(Scanner scanner, boolean part2) {
+            return new Day6Parser(scanner, part2);
+        }
+
+        @Override
+        public Solver<Input, Output> solver(boolean part2) {
+            return new Day6();
+        }
+
+        @Override
+        public StreamingParser<Problem> streamingParser(ReadableByteChannel channel, boolean part2) {
+            return new Day6StreamingParser(channel, part2);
+        }
+
+        @Override
+        public StreamingSolver<Problem, Output> streamingSolver(boolean part2) {
+            return new Day6Fold();
+        }
+
+        @Override
+        public String answer(Output output) {
+            return Long.toString(output.summedResults());
+        }
+    };
+
     public static void main(String[] args) {
         InputStream is = Main.class.getResourceAsStream("/day6/input.in");
         assert is != null;
@@ -1,10 +1,14 @@
 package com.panagiotispetridis.day7;
 
+import com.panagiotispetridis.common.MappedGrid;
 import com.panagiotispetridis.common.Parser;
+import com.panagiotispetridis.common.Puzzle;
 import com.panagiotispetridis.common.Solver;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -33,15 +37,17 @@ public class Main {
         }
     }
 
-    record Grid(List<List<Tile>> data) {
-        Tile at(int y, int x) {
+    record Grid(List<List<Tile>> data) implements com.panagiotispetridis.common.Grid<Tile> {
+        @Override
+        public Tile at(int y, int x) {
             if (y < 0 || y >= data.size() || x < 0 || x >= data.get(y).size()) {
                 return null;
             }
             return data.get(y).get(x);
         }
 
-        void set(int y, int x, Tile t) {
+        @Override
+        public void set(int y, int x, Tile t) {
             if (at(y,x) == null) {
                 return;
             }
@@ -49,11 +55,13 @@ public class Main {
             data.get(y).set(x, t);
         }
 
-        int width() {
+        @Override
+        public int width() {
             return data.getFirst().size();
         }
 
-        int height() {
+        @Override
+        public int height() {
             return data.size();
         }
 
@@ -71,7 +79,7 @@ public class Main {
         }
     }
 
-    record Input(Grid grid) {}
+    record Input(com.panagiotispetridis.common.Grid<Tile> grid) {}
 
     record Output(long answer) {}
 
@@ -82,16 +90,16 @@ public class Main {
 
         @Override
         public Input parse() {
-            Input input = new Input(new Grid(new ArrayList<>()));
+            Grid grid = new Grid(new ArrayList<>());
             while (scanner.hasNextLine()) {
-                input.grid().data().add(
+                grid.data().add(
                     Arrays.stream(scanner.nextLine().split(""))
                             .map(s -> Tile.fromChar(s.charAt(0)))
                             .collect(Collectors.toList())
                 );
             }
 
-            return input;
+            return new Input(grid);
         }
     }
 
@@ -121,7 +129,8 @@ public class Main {
             this.cache = new HashMap<>();
         }
 
-        long timelines(Grid grid, Frame frame) {
+        // recursive reference for countTimelines, its depth is the height of the grid
+        long timelines(com.panagiotispetridis.common.Grid<Tile> grid, Frame frame) {
             if (frame.y() >= grid.height()) {
                 return 1;
             }
@@ -143,10 +152,54 @@ public class Main {
             return result;
         }
 
+        // timelines() a row at a time: how many timelines reach each column of the row
+        long countTimelines(com.panagiotispetridis.common.Grid<Tile> grid, int start) {
+            int width = grid.width();
+            long[] ways = new long[width];
+            long[] next = new long[width];
+            ways[start] = 1;
+            // timelines() reaches the bottom before it checks the column, so a split off the side of the
+            // last row still ends a timeline
+            long leftTheLastRow = 0;
+            int last = grid.height() - 1;
+            for (int y = 0; y < grid.height(); y++) {
+                Arrays.fill(next, 0);
+                for (int x = 0; x < width; x++) {
+                    if (ways[x] == 0) {
+                        continue;
+                    }
+                    if (Tile.SPLITTER.equals(grid.at(y, x))) {
+                        if (x > 0) {
+                            next[x - 1] += ways[x];
+                        } else if (y == last) {
+                            leftTheLastRow += ways[x];
+                        }
+                        if (x + 1 < width) {
+                            next[x + 1] += ways[x];
+                        } else if (y == last) {
+                            leftTheLastRow += ways[x];
+                        }
+                    } else {
+                        next[x] += ways[x];
+                    }
+                }
+                long[] swap = ways;
+                ways = next;
+                next = swap;
+            }
+
+            long timelines = leftTheLastRow;
+            for (long w : ways) {
+                timelines += w;
+            }
+
+            return timelines;
+        }
+
         @Override
         public Output solve(Input input) {
             long answer = 0;
-            Grid grid = input.grid();
+            com.panagiotispetridis.common.Grid<Tile> grid = input.grid();
             Set<Integer> beams = new HashSet<>();
             int startTile = 0;
             for (int x = 0; x < grid.width(); x++) {
@@ -156,22 +209,29 @@ public class Main {
                 }
             }
             if (part2) {
-                return new Output(timelines(grid, new Frame(0, startTile)));
+                return new Output(countTimelines(grid, startTile));
             }
             for (int y = 1; y < grid.height(); y++) {
                 Set<Integer> nextBeams = new HashSet<>();
+                // cells of this row the beams have lit, kept here rather than written to the grid
+                Set<Integer> lit = new HashSet<>();
                 for (Integer x : beams) {
-                    if (grid.at(y, x) == null) {
+                    Tile tile = lit.contains(x) ? Tile.BEAM : grid.at(y, x);
+                    if (tile == null) {
                         continue;
                     }
-                    if (Tile.SPLITTER.equals(grid.at(y, x))) {
+                    if (Tile.SPLITTER.equals(tile)) {
                         answer++;
-                        grid.set(y, x-1, Tile.BEAM);
-                        grid.set(y, x+1, Tile.BEAM);
+                        if (grid.at(y, x-1) != null) {
+                            lit.add(x-1);
+                        }
+                        if (grid.at(y, x+1) != null) {
+                            lit.add(x+1);
+                        }
                         nextBeams.add(x-1);
                         nextBeams.add(x+1);
-                    } else if(Tile.EMPTY.equals(grid.at(y, x))) {
-                        grid.set(y, x, Tile.BEAM);
+                    } else if(Tile.EMPTY.equals(tile)) {
+                        lit.add(x);
                         nextBeams.add(x);
                     }
                 }
@@ -182,7 +242,31 @@ public class Main {
         }
     }
 
-    public static void main(String[] args) {
+    public static final Puzzle<Input, Output> PUZZLE = new Puzzle<>() {
+        @Override
+        public Parser<Input> parser(Scanner scanner, boolean part2) {
+            return new Day7Parser(scanner);
+        }
+
+        @Override
+        public Solver<Input, Output> solver(boolean part2) {
+            return new Day7(part2);
+        }
+
+        @Override
+        public String answer(Output output) {
+            return Long.toString(output.answer());
+        }
+    };
+
+    // with a file argument the grid is memory-mapped rather than parsed, for inputs larger than the heap
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0) {
+            Input input = new Input(MappedGrid.open(Path.of(args[0]), false, Tile.class, c -> Tile.fromChar((char) c)));
+            System.out.printf("Number of splits: %s\n", new Day7(false).solve(input).answer());
+            System.out.printf("Number of timelines: %s\n", new Day7(true).solve(input).answer());
+            return;
+        }
         InputStream is = Main.class.getResourceAsStream("/day7/input.in");
         assert is != null;
         try (Scanner scanner = new Scanner(new InputStreamReader(is))) {
@@ -1,16 +1,21 @@
 package com.panagiotispetridis.day8;
 
 import com.panagiotispetridis.common.Parser;
+import com.panagiotispetridis.common.Puzzle;
 import com.panagiotispetridis.common.Solver;
 
+import jdk.jfr.*;
+
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class Main {
 
     static class Point {
-        static long count = 0;
+        // shared by every parse in the JVM, so it has to stay unique across concurrent runs
+        static final AtomicLong count = new AtomicLong();
         public final String alias;
         public final long x;
         public final long y;
@@ -18,13 +23,11 @@ public class Main {
         public Point parent;
 
         Point(long x, long y, long z) {
-            this.alias = String.format("P%s", count);
+            this.alias = String.format("P%s", count.getAndIncrement());
             this.x = x;
             this.y = y;
             this.z = z;
             this.parent = this;
-
-            count++;
         }
 
         static Point fromString(String s) {
@@ -155,8 +158,25 @@ public class Main {
         }
     }
 
+    @Name("aoc.day8.ClosestPair")
+    @Label("Day 8 Closest Pair")
+    @Category({"AoC2025", "Day 8"})
+    @Description("One closest unconnected pair search, i.e. one iteration of Day8.solve")
+    public static class ClosestPairEvent extends Event {
+        @Label("Iteration")
+        int iteration;
+
+        @Label("Distance Checks")
+        @Description("Pairs whose distance was computed")
+        long distanceChecks;
+
+        @Label("Squared Distance")
+        long distance;
+    }
+
     static class Day8 implements Solver<Input, Output> {
         final private boolean part2;
+        private long distanceChecks;
 
         Day8(boolean part2) {
             this.part2 = part2;
@@ -273,6 +293,7 @@ public class Main {
                     }
 
                     long d2 = p.distance(q);
+                    distanceChecks++;
                     if (d2 < bestDist) {
                         bestDist = d2;
                         best = new Candidate(p, q, d2);
@@ -298,6 +319,7 @@ public class Main {
                     }
 
                     long d2 = p.distance(q);
+                    distanceChecks++;
                     if (d2 < bestDist) {
                         bestDist = d2;
                         best = new Candidate(p, q, d2);
@@ -312,6 +334,11 @@ public class Main {
             long count = 1000;
             long part2Ans = 0;
 
+            // circuits are linked through the points themselves, undo whatever an earlier solve linked
+            for (Point p : input.points()) {
+                p.parent = p;
+            }
+
             List<Point> pointsByX = new ArrayList<>(input.points());
             pointsByX.sort(Point::compareX);
 
@@ -321,7 +348,17 @@ public class Main {
             Set<PointPair> connected = new HashSet<>();
 
             for (int i = 0; part2 || i < count; i++) {
+                ClosestPairEvent event = new ClosestPairEvent();
+                event.begin();
+                distanceChecks = 0;
                 Candidate c = closestPair(pointsByX, pointsByY, connected);
+                event.end();
+                if (event.shouldCommit()) {
+                    event.iteration = i;
+                    event.distanceChecks = distanceChecks;
+                    event.distance = c == null ? -1 : c.distance();
+                    event.commit();
+                }
                 if (c == null) {
                     break;
                 }
@@ -349,6 +386,23 @@ public class Main {
         }
     }
 
+    public static final Puzzle<Input, Output> PUZZLE = new Puzzle<>() {
+        @Override
+        public Parser<Input> parser(Scanner scanner, boolean part2) {
+            return new Day8Parser(scanner);
+        }
+
+        @Override
+        public Solver<Input, Output> solver(boolean part2) {
+            return new Day8(part2);
+        }
+
+        @Override
+        public String answer(Output output) {
+            return Long.toString(output.answer());
+        }
+    };
+
     public static void main(String[] args) {
         InputStream is = Main.class.getResourceAsStream("/day8/input.in");
         assert is != null;
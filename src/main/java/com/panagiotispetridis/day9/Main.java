@@ -1,6 +1,7 @@
 package com.panagiotispetridis.day9;
 
 import com.panagiotispetridis.common.Parser;
+import com.panagiotispetridis.common.Puzzle;
 import com.panagiotispetridis.common.Solver;
 
 import java.io.InputStream;
@@ -189,6 +190,23 @@ public class Main {
         }
     }
 
+    public static final Puzzle<Input, Output> PUZZLE = new Puzzle<>() {
+        @Override
+        public Parser<Input> parser(Scanner scanner, boolean part2) {
+            return new Day9Parser(scanner);
+        }
+
+        @Override
+        public Solver<Input, Output> solver(boolean part2) {
+            return new Day9(part2);
+        }
+
+        @Override
+        public String answer(Output output) {
+            return Long.toString(output.answer());
+        }
+    };
+
     public static void main(String[] args) {
         InputStream is = Main.class.getResourceAsStream("/day9/input.in");
         assert is != null;
@@ -0,0 +1,64 @@
+package com.panagiotispetridis.generator;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+// [.##.] (3) (1,3) (2) {3,5,4,7} machines. Lights are the XOR of a random set of buttons and joltages
+// the sum of random press counts, so both parts always have a solution.
+public class Day10Generator implements Generator {
+
+    @Override
+    public void generate(SplittableRandom random, long size, Sink out) throws IOException {
+        while (out.written() < size) {
+            int lights = (int) Generator.between(random, 4, 10);
+            int buttons = (int) Generator.between(random, lights - 1, lights + 3);
+            boolean[][] wiring = new boolean[buttons][lights];
+            boolean[] on = new boolean[lights];
+            int[] joltages = new int[lights];
+            for (int b = 0; b < buttons; b++) {
+                wiring[b][random.nextInt(lights)] = true;
+                for (int l = 0; l < lights; l++) {
+                    if (random.nextInt(3) == 0) {
+                        wiring[b][l] = true;
+                    }
+                }
+                boolean toggle = random.nextBoolean();
+                int presses = random.nextInt(20);
+                for (int l = 0; l < lights; l++) {
+                    if (wiring[b][l]) {
+                        on[l] ^= toggle;
+                        joltages[l] += presses;
+                    }
+                }
+            }
+
+            out.put('[');
+            for (int l = 0; l < lights; l++) {
+                out.put(on[l] ? '#' : '.');
+            }
+            out.put(']');
+            for (int b = 0; b < buttons; b++) {
+                out.put(" (");
+                boolean first = true;
+                for (int l = 0; l < lights; l++) {
+                    if (wiring[b][l]) {
+                        if (!first) {
+                            out.put(',');
+                        }
+                        out.put(l);
+                        first = false;
+                    }
+                }
+                out.put(')');
+            }
+            out.put(" {");
+            for (int l = 0; l < lights; l++) {
+                if (l > 0) {
+                    out.put(',');
+                }
+                out.put(joltages[l]);
+            }
+            out.put('}').newline();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.panagiotispetridis.generator;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+/**
+ * A DAG of devices in topological order: svr first, then you, fft, dac and finally out (which has no
+ * line of its own). Edges only point forward, and each device's first edge lands no further than the
+ * next of fft, dac or out, so every device before fft reaches fft, every device before dac reaches dac,
+ * and everything reaches out. The remaining edges are random within a short window.
+ */
+public class Day11Generator implements Generator {
+
+    static final int WINDOW = 8;
+
+    private long svr;
+    private long you;
+    private long fft;
+    private long dac;
+    private long out;
+
+    // base 26, at least 3 letters, with the reserved names pushed aside so they stay unique
+    String name(long i) {
+        if (i == svr) return "svr";
+        if (i == you) return "you";
+        if (i == fft) return "fft";
+        if (i == dac) return "dac";
+        if (i == out) return "out";
+
+        StringBuilder builder = new StringBuilder();
+        long n = i;
+        do {
+            builder.append((char) ('a' + n % 26));
+            n /= 26;
+        } while (n > 0);
+        while (builder.length() < 3) {
+            builder.append('a');
+        }
+        String name = builder.reverse().toString();
+        return switch (name) {
+            case "svr", "you", "fft", "dac", "out" -> name + "_";
+            default -> name;
+        };
+    }
+
+    long nextLandmark(long i) {
+        if (i < fft) return fft;
+        if (i < dac) return dac;
+        return out;
+    }
+
+    @Override
+    public void generate(SplittableRandom random, long size, Sink sink) throws IOException {
+        // about 16 bytes per line
+        long devices = Math.max(8, size / 16);
+        svr = 0;
+        you = Math.max(1, devices / 10);
+        fft = Math.max(you + 1, devices / 3);
+        dac = Math.max(fft + 1, 2 * devices / 3);
+        out = devices - 1;
+
+        for (long i = 0; i < out; i++) {
+            long landmark = nextLandmark(i);
+            long first = i + 1 + random.nextLong(Math.min(WINDOW, landmark - i));
+            sink.put(name(i)).put(':').put(' ').put(name(first));
+            int extra = random.nextInt(3);
+            for (int e = 0; e < extra; e++) {
+                long to = Math.min(out, i + 1 + random.nextLong(WINDOW * 4));
+                if (to != first) {
+                    sink.put(' ').put(name(to));
+                }
+            }
+            sink.newline();
+        }
+    }
+}
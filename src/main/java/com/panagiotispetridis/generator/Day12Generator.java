@@ -0,0 +1,67 @@
+package com.panagiotispetridis.generator;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+// Six 3x3 present shapes with 5-7 cells each, then "WxH: c0 .. c5" regions. Like the puzzle input a region
+// either fits trivially (at most one present per 3x3 box) or asks for more cells than it has.
+public class Day12Generator implements Generator {
+
+    static final int SHAPES = 6;
+
+    @Override
+    public void generate(SplittableRandom random, long size, Sink out) throws IOException {
+        int[] cells = new int[SHAPES];
+        for (int s = 0; s < SHAPES; s++) {
+            boolean[] grid = new boolean[9];
+            cells[s] = (int) Generator.between(random, 5, 7);
+            // starting from a plus keeps the bounding box at 3x3
+            grid[1] = grid[3] = grid[4] = grid[5] = grid[7] = true;
+            int placed = 5;
+            while (placed < cells[s]) {
+                int c = random.nextInt(9);
+                if (!grid[c]) {
+                    grid[c] = true;
+                    placed++;
+                }
+            }
+            out.put(s).put(':').newline();
+            for (int y = 0; y < 3; y++) {
+                for (int x = 0; x < 3; x++) {
+                    out.put(grid[y * 3 + x] ? '#' : '.');
+                }
+                out.newline();
+            }
+            out.newline();
+        }
+
+        boolean first = true;
+        while (first || out.written() < size) {
+            int w = (int) Generator.between(random, 35, 50);
+            int h = (int) Generator.between(random, 35, 50);
+            int[] counts = new int[SHAPES];
+            if (random.nextBoolean()) {
+                int boxes = (w / 3) * (h / 3);
+                for (int i = 0; i < boxes; i++) {
+                    counts[random.nextInt(SHAPES)]++;
+                }
+            } else {
+                long area = (long) w * h;
+                while (area >= 0) {
+                    int s = random.nextInt(SHAPES);
+                    counts[s]++;
+                    area -= cells[s];
+                }
+            }
+            if (!first) {
+                out.newline();
+            }
+            out.put(w).put('x').put(h).put(':');
+            for (int count : counts) {
+                out.put(' ').put(count);
+            }
+            first = false;
+        }
+        out.newline();
+    }
+}
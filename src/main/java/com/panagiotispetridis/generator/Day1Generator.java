@@ -0,0 +1,15 @@
+package com.panagiotispetridis.generator;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+// L68\nR14\n... one rotation per line
+public class Day1Generator implements Generator {
+
+    @Override
+    public void generate(SplittableRandom random, long size, Sink out) throws IOException {
+        while (out.written() < size) {
+            out.put(random.nextBoolean() ? 'L' : 'R').put(Generator.between(random, 1, 999)).newline();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.panagiotispetridis.generator;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+// 11-22,95-115,... a single line of ID ranges, lower <= upper and at most 10 digits
+public class Day2Generator implements Generator {
+
+    @Override
+    public void generate(SplittableRandom random, long size, Sink out) throws IOException {
+        boolean first = true;
+        while (out.written() < size) {
+            int digits = (int) Generator.between(random, 1, 10);
+            long low = digits == 1 ? 1 : pow10(digits - 1);
+            long lower = Generator.between(random, low, pow10(digits) - 1);
+            long span = random.nextLong(pow10(digits / 2 + 1));
+            if (!first) {
+                out.put(',');
+            }
+            out.put(lower).put('-').put(lower + span);
+            first = false;
+        }
+        out.newline();
+    }
+
+    static long pow10(int exp) {
+        long result = 1;
+        for (int i = 0; i < exp; i++) {
+            result *= 10;
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,20 @@
+package com.panagiotispetridis.generator;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+// battery banks of 100 digits 1-9 per line
+public class Day3Generator implements Generator {
+
+    static final int ROW_LENGTH = 100;
+
+    @Override
+    public void generate(SplittableRandom random, long size, Sink out) throws IOException {
+        while (out.written() < size) {
+            for (int i = 0; i < ROW_LENGTH; i++) {
+                out.put((char) ('1' + random.nextInt(9)));
+            }
+            out.newline();
+        }
+    }
+}
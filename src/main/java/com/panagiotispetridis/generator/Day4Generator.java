@@ -0,0 +1,19 @@
+package com.panagiotispetridis.generator;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+// roughly square grid of '.' and '@' (paper), about 70% paper
+public class Day4Generator implements Generator {
+
+    @Override
+    public void generate(SplittableRandom random, long size, Sink out) throws IOException {
+        long width = Math.max(10, (long) Math.sqrt(size));
+        while (out.written() < size) {
+            for (long x = 0; x < width; x++) {
+                out.put(random.nextInt(10) < 7 ? '@' : '.');
+            }
+            out.newline();
+        }
+    }
+}
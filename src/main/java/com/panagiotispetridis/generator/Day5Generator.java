@@ -0,0 +1,26 @@
+package com.panagiotispetridis.generator;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+// "start-end" fresh ranges (a quarter of the bytes), a blank line, then one ingredient ID per line
+public class Day5Generator implements Generator {
+
+    static final long DOMAIN = 1_000_000_000_000_000L;
+
+    @Override
+    public void generate(SplittableRandom random, long size, Sink out) throws IOException {
+        long rangeBytes = Math.max(1, size / 4);
+        // about 35 bytes per range line, sized so the ranges cover roughly half of the ID space
+        long ranges = Math.max(1, rangeBytes / 35);
+        long maxLength = Math.max(1, DOMAIN / ranges);
+        while (out.written() < rangeBytes) {
+            long start = Generator.between(random, 1, DOMAIN);
+            out.put(start).put('-').put(start + random.nextLong(maxLength)).newline();
+        }
+        out.newline();
+        while (out.written() < size) {
+            out.put(Generator.between(random, 1, DOMAIN)).newline();
+        }
+    }
+}
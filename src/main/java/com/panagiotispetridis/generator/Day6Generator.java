@@ -0,0 +1,59 @@
+package com.panagiotispetridis.generator;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+// Worksheet of side by side problems: 3-4 rows of up to 4 digit numbers per column block, blocks
+// separated by a single all-space column, operators on the last row under the block start. Every block
+// has one number spanning its full width so no column inside a block is empty.
+public class Day6Generator implements Generator {
+
+    @Override
+    public void generate(SplittableRandom random, long size, Sink out) throws IOException {
+        int rows = (int) Generator.between(random, 3, 4);
+        long width = Math.max(4, size / (rows + 1));
+        // blocks are generated column-major but written row-major, so every row replays the same stream
+        long seed = random.nextLong();
+
+        for (int row = 0; row <= rows; row++) {
+            SplittableRandom blocks = new SplittableRandom(seed);
+            long column = 0;
+            while (column < width) {
+                int blockWidth = (int) Generator.between(blocks, 1, 4);
+                int widest = blocks.nextInt(rows);
+                boolean multiplication = blocks.nextBoolean();
+                long[] numbers = new long[rows];
+                boolean[] leftAligned = new boolean[rows];
+                for (int r = 0; r < rows; r++) {
+                    int digits = r == widest ? blockWidth : (int) Generator.between(blocks, 1, blockWidth);
+                    numbers[r] = Generator.between(blocks, Day2Generator.pow10(digits - 1), Day2Generator.pow10(digits) - 1);
+                    leftAligned[r] = blocks.nextBoolean();
+                }
+                if (column > 0) {
+                    out.put(' ');
+                }
+                if (row == rows) {
+                    out.put(multiplication ? '*' : '+');
+                    pad(out, blockWidth - 1);
+                } else {
+                    int digits = Long.toString(numbers[row]).length();
+                    if (!leftAligned[row]) {
+                        pad(out, blockWidth - digits);
+                    }
+                    out.put(numbers[row]);
+                    if (leftAligned[row]) {
+                        pad(out, blockWidth - digits);
+                    }
+                }
+                column += blockWidth + 1;
+            }
+            out.newline();
+        }
+    }
+
+    static void pad(Sink out, int n) throws IOException {
+        for (int i = 0; i < n; i++) {
+            out.put(' ');
+        }
+    }
+}
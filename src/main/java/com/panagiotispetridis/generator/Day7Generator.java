@@ -0,0 +1,28 @@
+package com.panagiotispetridis.generator;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+// Tachyon manifold: 'S' in the middle of the first row, then alternating empty rows and rows with
+// splitters ('^') away from the edges, like the puzzle input.
+public class Day7Generator implements Generator {
+
+    @Override
+    public void generate(SplittableRandom random, long size, Sink out) throws IOException {
+        long width = Math.max(15, (long) Math.sqrt(size)) | 1;
+        for (long x = 0; x < width; x++) {
+            out.put(x == width / 2 ? 'S' : '.');
+        }
+        out.newline();
+
+        boolean splitters = false;
+        while (out.written() < size) {
+            for (long x = 0; x < width; x++) {
+                boolean edge = x == 0 || x == width - 1;
+                out.put(splitters && !edge && random.nextInt(10) < 3 ? '^' : '.');
+            }
+            out.newline();
+            splitters = !splitters;
+        }
+    }
+}
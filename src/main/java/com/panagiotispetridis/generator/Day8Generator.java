@@ -0,0 +1,19 @@
+package com.panagiotispetridis.generator;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+// x,y,z junction boxes with coordinates below 100000
+public class Day8Generator implements Generator {
+
+    static final int BOUND = 100_000;
+
+    @Override
+    public void generate(SplittableRandom random, long size, Sink out) throws IOException {
+        while (out.written() < size) {
+            out.put(random.nextInt(BOUND)).put(',')
+                    .put(random.nextInt(BOUND)).put(',')
+                    .put(random.nextInt(BOUND)).newline();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.panagiotispetridis.generator;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+/**
+ * Red tiles as the vertices, in order, of a simple rectilinear polygon.
+ *
+ * The polygon is x-monotone: k vertical strips [x(i), x(i+1)] x [bottom(i), top(i)] with every top in
+ * the upper half and every bottom in the lower half, so neighbouring strips always overlap. Walking the
+ * tops left to right and the bottoms right to left gives 4k vertices alternating vertical and
+ * horizontal edges. Consecutive tops (and bottoms) differ in parity so no two edges are collinear.
+ *
+ * Every coordinate is a hash of the seed and the strip index, so the bottom walk can run in reverse
+ * without keeping the strips in memory.
+ */
+public class Day9Generator implements Generator {
+
+    static final long HEIGHT = 100_000;
+    static final long WIDTH = 100_000;
+
+    private long seed;
+    private long gap;
+
+    long hash(long salt, long i) {
+        return Generator.mix(seed + salt * 0x9e3779b97f4a7c15L + i) & Long.MAX_VALUE;
+    }
+
+    // x(i+1) - x(i) = gap + jitter(i+1) - jitter(i) >= 1
+    long x(long i) {
+        return i * gap + hash(1, i) % gap;
+    }
+
+    long top(long i) {
+        return HEIGHT / 2 + 2 * (hash(2, i) % (HEIGHT / 4)) + (i & 1);
+    }
+
+    long bottom(long i) {
+        return 2 * (hash(3, i) % (HEIGHT / 4)) + (i & 1);
+    }
+
+    void vertex(Sink out, long x, long y) throws IOException {
+        out.put(x).put(',').put(y).newline();
+    }
+
+    @Override
+    public void generate(SplittableRandom random, long size, Sink out) throws IOException {
+        seed = random.nextLong();
+        // about 12 bytes per vertex, 4 vertices per strip
+        long strips = Math.max(2, size / 48);
+        gap = Math.max(2, WIDTH / strips);
+
+        vertex(out, x(0), bottom(0));
+        vertex(out, x(0), top(0));
+        for (long i = 1; i < strips; i++) {
+            vertex(out, x(i), top(i - 1));
+            vertex(out, x(i), top(i));
+        }
+        vertex(out, x(strips), top(strips - 1));
+        vertex(out, x(strips), bottom(strips - 1));
+        for (long i = strips - 1; i >= 1; i--) {
+            vertex(out, x(i), bottom(i));
+            vertex(out, x(i), bottom(i - 1));
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.panagiotispetridis.generator;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+public interface Generator {
+
+    // writes a valid input of roughly size bytes, the same seed and size always produce the same bytes
+    void generate(SplittableRandom random, long size, Sink out) throws IOException;
+
+    static long between(SplittableRandom random, long min, long max) {
+        return min + random.nextLong(max - min + 1);
+    }
+
+    // SplitMix64 finaliser, for generators that need random access to their values instead of a stream
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+}
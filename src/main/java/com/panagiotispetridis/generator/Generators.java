@@ -0,0 +1,59 @@
+package com.panagiotispetridis.generator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+public final class Generators {
+
+    // index is the day - 1, generators keep per run state so every run gets a fresh one
+    static final List<Supplier<Generator>> ALL = List.of(
+            Day1Generator::new,
+            Day2Generator::new,
+            Day3Generator::new,
+            Day4Generator::new,
+            Day5Generator::new,
+            Day6Generator::new,
+            Day7Generator::new,
+            Day8Generator::new,
+            Day9Generator::new,
+            Day10Generator::new,
+            Day11Generator::new,
+            Day12Generator::new
+    );
+
+    private Generators() {}
+
+    public static Generator get(int day) {
+        if (day < 1 || day > ALL.size()) {
+            throw new IllegalArgumentException("no such day: " + day);
+        }
+
+        return ALL.get(day - 1).get();
+    }
+
+    public static void generate(int day, long seed, long size, OutputStream out) {
+        try (Sink sink = new Sink(out)) {
+            get(day).generate(new SplittableRandom(seed), size, sink);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 512, 64k, 10m, 2g
+    public static long parseSize(String s) {
+        String lower = s.trim().toLowerCase();
+        long multiplier = switch (lower.charAt(lower.length() - 1)) {
+            case 'k' -> 1L << 10;
+            case 'm' -> 1L << 20;
+            case 'g' -> 1L << 30;
+            default -> 1;
+        };
+        String digits = multiplier == 1 ? lower : lower.substring(0, lower.length() - 1);
+
+        return Long.parseLong(digits) * multiplier;
+    }
+}
@@ -0,0 +1,37 @@
+package com.panagiotispetridis.generator;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class Main {
+
+    static final String USAGE = "usage: generator <day> <size, e.g. 64k|10m|2g> [seed] [out file|-] [count]\n"
+            + "       with count > 1 out is a directory and gets <seed>.in for seed, seed+1, ...";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args.length > 5) {
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+        int day = Integer.parseInt(args[0]);
+        long size = Generators.parseSize(args[1]);
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+        String out = args.length > 3 ? args[3] : "-";
+        int count = args.length > 4 ? Integer.parseInt(args[4]) : 1;
+
+        if (count == 1) {
+            OutputStream os = "-".equals(out) ? System.out : Files.newOutputStream(Path.of(out));
+            Generators.generate(day, seed, size, new BufferedOutputStream(os));
+            return;
+        }
+
+        Path dir = Files.createDirectories(Path.of(out));
+        for (int i = 0; i < count; i++) {
+            Path file = dir.resolve((seed + i) + ".in");
+            Generators.generate(day, seed + i, size, Files.newOutputStream(file));
+        }
+    }
+}
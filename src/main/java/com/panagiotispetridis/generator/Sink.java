@@ -0,0 +1,76 @@
+package com.panagiotispetridis.generator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+// buffered ASCII writer that counts what it has written, generators stop once they reach their size
+public final class Sink implements Closeable {
+
+    final private OutputStream out;
+    final private byte[] buffer = new byte[1 << 16];
+    private int filled = 0;
+    private long written = 0;
+
+    public Sink(OutputStream out) {
+        this.out = out;
+    }
+
+    public long written() {
+        return written + filled;
+    }
+
+    public Sink put(char c) throws IOException {
+        if (filled == buffer.length) {
+            flushBuffer();
+        }
+        buffer[filled++] = (byte) c;
+
+        return this;
+    }
+
+    public Sink put(String s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            put(s.charAt(i));
+        }
+
+        return this;
+    }
+
+    public Sink put(long v) throws IOException {
+        if (v < 0) {
+            put('-');
+            v = -v;
+        }
+        long divisor = 1;
+        while (v / divisor >= 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            put((char) ('0' + (v / divisor) % 10));
+        }
+
+        return this;
+    }
+
+    public Sink newline() throws IOException {
+        return put('\n');
+    }
+
+    private void flushBuffer() throws IOException {
+        out.write(buffer, 0, filled);
+        written += filled;
+        filled = 0;
+    }
+
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        out.close();
+    }
+}
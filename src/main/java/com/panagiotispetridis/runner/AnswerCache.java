@@ -0,0 +1,153 @@
+package com.panagiotispetridis.runner;
+
+import com.panagiotispetridis.common.ByteReader;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Content-addressed store of answers, keyed by sha256(day, part, solver version, raw input bytes).
+ *
+ * Entries live in an access ordered map and the least recently used ones are evicted once the
+ * entries take more than maxBytes. On close the cache is written back as
+ * [magic][count] followed by [32 byte key][u16 length][utf8 answer] per entry, least recent first,
+ * so recency survives a reload.
+ */
+public class AnswerCache implements Closeable {
+
+    static final int MAGIC = 0x414f4331; // "AOC1"
+    static final int KEY_BYTES = 32;
+
+    record Key(byte[] hash) {
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Key other && Arrays.equals(hash, other.hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(hash);
+        }
+    }
+
+    final private Path file;
+    final private long maxBytes;
+    final private LinkedHashMap<Key, String> entries;
+    private long bytes;
+    private boolean dirty;
+
+    private AnswerCache(Path file, long maxBytes) {
+        this.file = file;
+        this.maxBytes = maxBytes;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.bytes = 0;
+        this.dirty = false;
+    }
+
+    public static AnswerCache open(Path file, long maxBytes) throws IOException {
+        AnswerCache cache = new AnswerCache(file, maxBytes);
+        if (!Files.exists(file)) {
+            return cache;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                // unknown format, start over rather than fail the run
+                return cache;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                byte[] hash = new byte[KEY_BYTES];
+                in.readFully(hash);
+                byte[] answer = new byte[in.readUnsignedShort()];
+                in.readFully(answer);
+                cache.insert(new Key(hash), new String(answer, StandardCharsets.UTF_8));
+            }
+        }
+        cache.dirty = false;
+
+        return cache;
+    }
+
+    static long size(String answer) {
+        return KEY_BYTES + 2 + answer.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    public static Key key(int day, boolean part2, int version, ByteReader input) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(ByteBuffer.allocate(9).putInt(day).put((byte) (part2 ? 2 : 1)).putInt(version).flip());
+            digest.update(input.bytes());
+
+            return new Key(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public synchronized String get(Key key) {
+        // a hit moves the entry to the most recent end, that order has to be written back on close
+        boolean newest = !entries.isEmpty() && entries.lastEntry().getKey().equals(key);
+        String answer = entries.get(key);
+        if (answer != null && !newest) {
+            dirty = true;
+        }
+
+        return answer;
+    }
+
+    public synchronized void put(Key key, String answer) {
+        if (answer.getBytes(StandardCharsets.UTF_8).length > 0xffff) {
+            return;
+        }
+        insert(key, answer);
+    }
+
+    private void insert(Key key, String answer) {
+        String previous = entries.put(key, answer);
+        if (previous != null) {
+            bytes -= size(previous);
+        }
+        bytes += size(answer);
+        dirty = true;
+
+        Iterator<Map.Entry<Key, String>> eldest = entries.entrySet().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            bytes -= size(eldest.next().getValue());
+            eldest.remove();
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!dirty) {
+            return;
+        }
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(entries.size());
+            for (Map.Entry<Key, String> entry : entries.entrySet()) {
+                byte[] answer = entry.getValue().getBytes(StandardCharsets.UTF_8);
+                out.write(entry.getKey().hash());
+                out.writeShort(answer.length);
+                out.write(answer);
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        dirty = false;
+    }
+}
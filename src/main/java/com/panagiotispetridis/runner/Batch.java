@@ -0,0 +1,146 @@
+package com.panagiotispetridis.runner;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+// Solves every file in a directory for one day and writes a CSV of answers and timings.
+// Each (file, part) gets its own parser and solver from the day's Puzzle, so solvers with
+// mutable state (Day7.cache, Day10.seen, Day11.cache/visited) are never shared between tasks.
+public class Batch {
+
+    static final String USAGE = "usage: batch <day> <input dir> [both|1|2] [--threads N] [--out file.csv] [--cache file]";
+
+    record Task(Path file, boolean part2) {}
+
+    record Row(Task task, Day.Result result, Throwable error) {}
+
+    static String csv(String s) {
+        if (s.contains(",") || s.contains("\"") || s.contains("\n")) {
+            return "\"" + s.replace("\"", "\"\"") + "\"";
+        }
+
+        return s;
+    }
+
+    static void write(PrintStream out, Day day, Row row) {
+        out.printf("%s,%d,%d,%s,%.3f,%.3f,%s,%s%n",
+                csv(row.task().file().toString()),
+                day.number(),
+                row.task().part2() ? 2 : 1,
+                row.result() == null ? "" : csv(row.result().answer()),
+                row.result() == null ? 0.0 : Main.millis(row.result().parseNanos()),
+                row.result() == null ? 0.0 : Main.millis(row.result().solveNanos()),
+                row.result() != null && row.result().cached(),
+                row.error() == null ? "" : csv(String.valueOf(row.error())));
+    }
+
+    static List<Path> inputs(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(Files::isRegularFile).sorted().toList();
+        }
+    }
+
+    record Options(Day day, Path dir, List<Boolean> parts, int threads, Path out, Path cacheFile) {}
+
+    // flags are checked up front, so a mistyped one is reported as such rather than as a part
+    static Options options(String[] args) {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("a day and an input directory are required");
+        }
+        Day day = Days.get(Integer.parseInt(args[0]));
+        Path dir = Path.of(args[1]);
+        List<Boolean> parts = List.of(false, true);
+        int threads = Runtime.getRuntime().availableProcessors();
+        Path out = null;
+        Path cacheFile = null;
+        for (int i = 2; i < args.length; i++) {
+            switch (args[i]) {
+                case "--threads" -> {
+                    threads = Integer.parseInt(value(args, i++));
+                    if (threads <= 0) {
+                        throw new IllegalArgumentException("--threads needs a positive count");
+                    }
+                }
+                case "--out" -> out = Path.of(value(args, i++));
+                case "--cache" -> cacheFile = Path.of(value(args, i++));
+                default -> {
+                    if (args[i].startsWith("-")) {
+                        throw new IllegalArgumentException("unknown option: " + args[i]);
+                    }
+                    parts = Main.parts(args[i]);
+                }
+            }
+        }
+
+        return new Options(day, dir, parts, threads, out, cacheFile);
+    }
+
+    // the value following the option at args[i]
+    static String value(String[] args, int i) {
+        if (i + 1 >= args.length) {
+            throw new IllegalArgumentException(args[i] + " needs a value");
+        }
+
+        return args[i + 1];
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Options options;
+        try {
+            options = options(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(1);
+            return;
+        }
+        Day day = options.day();
+
+        List<Task> tasks = new ArrayList<>();
+        for (Path file : inputs(options.dir())) {
+            for (boolean part2 : options.parts()) {
+                tasks.add(new Task(file, part2));
+            }
+        }
+
+        AnswerCache cache = options.cacheFile() == null ? null : AnswerCache.open(options.cacheFile(), Main.CACHE_BYTES);
+        ExecutorService pool = Executors.newWorkStealingPool(options.threads());
+        List<Future<Row>> rows = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            rows.add(pool.submit(() -> {
+                try {
+                    return new Row(task, day.run(task.part2(), task.file(), cache), null);
+                } catch (Throwable t) {
+                    return new Row(task, null, t);
+                }
+            }));
+        }
+
+        try (PrintStream ps = options.out() == null ? null : new PrintStream(Files.newOutputStream(options.out()))) {
+            PrintStream csv = ps == null ? System.out : ps;
+            csv.println("file,day,part,answer,parse_ms,solve_ms,cached,error");
+            for (Future<Row> row : rows) {
+                try {
+                    write(csv, day, row.get());
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+            csv.flush();
+        } finally {
+            pool.shutdown();
+            if (cache != null) {
+                cache.close();
+            }
+        }
+    }
+}
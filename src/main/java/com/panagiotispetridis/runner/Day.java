@@ -0,0 +1,207 @@
+package com.panagiotispetridis.runner;
+
+import com.panagiotispetridis.common.ByteParser;
+import com.panagiotispetridis.common.ByteReader;
+import com.panagiotispetridis.common.Events;
+import com.panagiotispetridis.common.ParseEvent;
+import com.panagiotispetridis.common.Puzzle;
+import com.panagiotispetridis.common.SolveEvent;
+import com.panagiotispetridis.common.StreamingPuzzle;
+import com.panagiotispetridis.common.StreamingSolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Scanner;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
+
+public record Day(int number, String resource, Puzzle<?, ?> puzzle) {
+
+    public record Result(String answer, long parseNanos, long solveNanos, boolean cached) {}
+
+    // bundled input when path is null, stdin for "-", otherwise the file memory-mapped
+    public ByteReader reader(Path input) {
+        try {
+            if (input != null && "-".equals(input.toString())) {
+                return ByteReader.of(System.in.readAllBytes());
+            }
+            if (input != null) {
+                return ByteReader.map(input);
+            }
+            try (InputStream is = Day.class.getResourceAsStream(resource)) {
+                if (is == null) {
+                    throw new IllegalStateException("missing bundled input " + resource);
+                }
+                return ByteReader.of(is.readAllBytes());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // bundled input when path is null, stdin for "-", otherwise the file
+    public ReadableByteChannel channel(Path input) {
+        try {
+            if (input == null) {
+                InputStream is = Day.class.getResourceAsStream(resource);
+                if (is == null) {
+                    throw new IllegalStateException("missing bundled input " + resource);
+                }
+                return Channels.newChannel(is);
+            }
+            if ("-".equals(input.toString())) {
+                return Channels.newChannel(System.in);
+            }
+            return FileChannel.open(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public boolean streams() {
+        return puzzle instanceof StreamingPuzzle<?, ?, ?>;
+    }
+
+    public Result run(boolean part2, Path input) {
+        return run(puzzle, part2, reader(input));
+    }
+
+    public Result run(boolean part2, ByteReader reader) {
+        return run(puzzle, part2, reader);
+    }
+
+    // answers are looked up by content hash first, the lookup time is reported as parse time
+    public Result run(boolean part2, Path input, AnswerCache cache) {
+        if (cache == null) {
+            return run(part2, input);
+        }
+        ByteReader reader = reader(input);
+        long start = System.nanoTime();
+        AnswerCache.Key key = AnswerCache.key(number, part2, puzzle.version(), reader);
+        String answer = cache.get(key);
+        if (answer != null) {
+            return new Result(answer, System.nanoTime() - start, 0, true);
+        }
+        Result result = run(puzzle, part2, reader);
+        cache.put(key, result.answer());
+
+        return result;
+    }
+
+    <I, O> Result run(Puzzle<I, O> puzzle, boolean part2, ByteReader reader) {
+        ParseEvent parseEvent = new ParseEvent();
+        long allocated = parseEvent.isEnabled() ? Events.allocatedBytes() : 0;
+        parseEvent.begin();
+        long start = System.nanoTime();
+        I input = parse(puzzle, part2, reader);
+        long parsed = System.nanoTime();
+        parseEvent.end();
+        if (parseEvent.shouldCommit()) {
+            parseEvent.day = number;
+            parseEvent.part = part2 ? 2 : 1;
+            parseEvent.inputBytes = reader.limit();
+            parseEvent.allocatedBytes = Events.allocatedBytes() - allocated;
+            parseEvent.commit();
+        }
+
+        SolveEvent solveEvent = new SolveEvent();
+        allocated = solveEvent.isEnabled() ? Events.allocatedBytes() : 0;
+        solveEvent.begin();
+        long solving = System.nanoTime();
+        O output = puzzle.solver(part2).solve(input);
+        long solved = System.nanoTime();
+        String answer = puzzle.answer(output);
+        solveEvent.end();
+        if (solveEvent.shouldCommit()) {
+            solveEvent.day = number;
+            solveEvent.part = part2 ? 2 : 1;
+            solveEvent.answer = answer;
+            solveEvent.allocatedBytes = Events.allocatedBytes() - allocated;
+            solveEvent.commit();
+        }
+
+        return new Result(answer, parsed - start, solved - solving, false);
+    }
+
+    // parse and solve are interleaved, so the whole run is reported as solve time
+    public Result stream(boolean part2, Path input) {
+        return stream(part2, input, 0, null);
+    }
+
+    // with every > 0 the running answer is handed to progress after every that many records
+    public Result stream(boolean part2, Path input, long every, ObjLongConsumer<String> progress) {
+        if (!(puzzle instanceof StreamingPuzzle<?, ?, ?> streaming)) {
+            throw new UnsupportedOperationException("day " + number + " has no streaming solver");
+        }
+        try (ReadableByteChannel channel = channel(input)) {
+            return stream(streaming, part2, channel, every, progress);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    <I, T, O> Result stream(StreamingPuzzle<I, T, O> puzzle, boolean part2, ReadableByteChannel channel,
+                            long every, ObjLongConsumer<String> progress) {
+        SolveEvent event = new SolveEvent();
+        long allocated = event.isEnabled() ? Events.allocatedBytes() : 0;
+        event.begin();
+        long start = System.nanoTime();
+        StreamingSolver<T, O> solver = puzzle.streamingSolver(part2);
+        puzzle.streamingParser(channel, part2).parse(every > 0 ? new Progress<>(puzzle, solver, every, progress) : solver);
+        O output = solver.result();
+        long solved = System.nanoTime();
+        String answer = puzzle.answer(output);
+        event.end();
+        if (event.shouldCommit()) {
+            event.day = number;
+            event.part = part2 ? 2 : 1;
+            event.streamed = true;
+            event.answer = answer;
+            event.allocatedBytes = Events.allocatedBytes() - allocated;
+            event.commit();
+        }
+
+        return new Result(answer, 0, solved - start, false);
+    }
+
+    public static <I, O> I parse(Puzzle<I, O> puzzle, boolean part2, ByteReader reader) {
+        ByteParser<I> byteParser = puzzle.byteParser(reader, part2);
+        if (byteParser != null) {
+            return byteParser.parse();
+        }
+        try (Scanner scanner = new Scanner(new InputStreamReader(reader.stream(), StandardCharsets.UTF_8))) {
+            return puzzle.parser(scanner, part2).parse();
+        }
+    }
+
+    private static class Progress<T, O> implements Consumer<T> {
+
+        final private Puzzle<?, O> puzzle;
+        final private StreamingSolver<T, O> solver;
+        final private long every;
+        final private ObjLongConsumer<String> progress;
+        private long seen;
+
+        Progress(Puzzle<?, O> puzzle, StreamingSolver<T, O> solver, long every, ObjLongConsumer<String> progress) {
+            this.puzzle = puzzle;
+            this.solver = solver;
+            this.every = every;
+            this.progress = progress;
+        }
+
+        @Override
+        public void accept(T item) {
+            solver.accept(item);
+            if (++seen % every == 0) {
+                progress.accept(puzzle.answer(solver.result()), seen);
+            }
+        }
+    }
+}
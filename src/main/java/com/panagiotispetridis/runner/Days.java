@@ -0,0 +1,46 @@
+package com.panagiotispetridis.runner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class Days {
+
+    public static final List<Day> ALL = List.of(
+            new Day(1, "/day1/input1.in", com.panagiotispetridis.day1.Main.PUZZLE),
+            new Day(2, "/day2/input.in", com.panagiotispetridis.day2.Main.PUZZLE),
+            new Day(3, "/day3/input.in", com.panagiotispetridis.day3.Main.PUZZLE),
+            new Day(4, "/day4/input.in", com.panagiotispetridis.day4.Main.PUZZLE),
+            new Day(5, "/day5/input.in", com.panagiotispetridis.day5.Main.PUZZLE),
+            new Day(6, "/day6/input.in", com.panagiotispetridis.day6.Main.PUZZLE),
+            new Day(7, "/day7/input.in", com.panagiotispetridis.day7.Main.PUZZLE),
+            new Day(8, "/day8/input.in", com.panagiotispetridis.day8.Main.PUZZLE),
+            new Day(9, "/day9/input.in", com.panagiotispetridis.day9.Main.PUZZLE),
+            new Day(10, "/day10/input.in", com.panagiotispetridis.day10.Main.PUZZLE),
+            new Day(11, "/day11/input.in", com.panagiotispetridis.day11.Main.PUZZLE),
+            new Day(12, "/day12/input.in", com.panagiotispetridis.day12.Main.PUZZLE)
+    );
+
+    private Days() {}
+
+    public static Day get(int number) {
+        for (Day day : ALL) {
+            if (day.number() == number) {
+                return day;
+            }
+        }
+        throw new IllegalArgumentException("no such day: " + number);
+    }
+
+    // "all" or a comma separated list of day numbers, e.g. "1,4,12"
+    public static List<Day> select(String spec) {
+        if ("all".equals(spec)) {
+            return ALL;
+        }
+        List<Day> days = new ArrayList<>();
+        for (String s : spec.split(",")) {
+            days.add(get(Integer.parseInt(s.trim())));
+        }
+
+        return days;
+    }
+}
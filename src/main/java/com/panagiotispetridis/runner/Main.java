@@ -0,0 +1,175 @@
+package com.panagiotispetridis.runner;
+
+import com.panagiotispetridis.common.ParseEvent;
+import com.panagiotispetridis.common.SolveEvent;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class Main {
+
+    static final String USAGE = "usage: runner [--stream [--every N]] [--cache file] [--record file.jfr] [all|<day>[,<day>...]] [both|1|2] [input path|-]";
+
+    static final long CACHE_BYTES = 64L << 20;
+
+    // "both", "1", "2" or "1,2"
+    static List<Boolean> parts(String spec) {
+        if ("both".equals(spec)) {
+            return List.of(false, true);
+        }
+        List<Boolean> parts = new ArrayList<>();
+        for (String s : spec.split(",")) {
+            switch (s.trim()) {
+                case "1" -> parts.add(false);
+                case "2" -> parts.add(true);
+                default -> throw new IllegalArgumentException("no such part: " + s);
+            }
+        }
+
+        return parts;
+    }
+
+    static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    record Options(boolean stream, long every, Path cacheFile, Path recordingFile,
+                   List<Day> days, List<Boolean> parts, Path input) {}
+
+    // throws IllegalArgumentException with the reason when the arguments don't make a run
+    static Options options(String[] args) {
+        boolean stream = false;
+        long every = 0;
+        Path cacheFile = null;
+        Path recordingFile = null;
+        while (args.length > 0 && args[0].startsWith("--")) {
+            switch (args[0]) {
+                case "--stream" -> stream = true;
+                case "--every" -> {
+                    every = Long.parseLong(value(args));
+                    if (every <= 0) {
+                        throw new IllegalArgumentException("--every needs a positive record count");
+                    }
+                    args = Arrays.copyOfRange(args, 1, args.length);
+                }
+                case "--cache" -> {
+                    cacheFile = Path.of(value(args));
+                    args = Arrays.copyOfRange(args, 1, args.length);
+                }
+                case "--record" -> {
+                    recordingFile = Path.of(value(args));
+                    args = Arrays.copyOfRange(args, 1, args.length);
+                }
+                default -> throw new IllegalArgumentException("unknown option: " + args[0]);
+            }
+            args = Arrays.copyOfRange(args, 1, args.length);
+        }
+        if (every > 0 && !stream) {
+            throw new IllegalArgumentException("--every only applies to --stream runs");
+        }
+        if (args.length > 3) {
+            throw new IllegalArgumentException("too many arguments");
+        }
+        List<Day> days = args.length > 0 ? Days.select(args[0]) : Days.ALL;
+        List<Boolean> parts = args.length > 1 ? parts(args[1]) : List.of(false, true);
+        Path input = args.length > 2 ? Path.of(args[2]) : null;
+        if (input != null && days.size() != 1) {
+            throw new IllegalArgumentException("an input path can only be given for a single day");
+        }
+        if (input != null && "-".equals(input.toString()) && parts.size() != 1) {
+            throw new IllegalArgumentException("stdin can only be read for a single part");
+        }
+
+        return new Options(stream, every, cacheFile, recordingFile, days, parts, input);
+    }
+
+    // the value following the option in args[0]
+    static String value(String[] args) {
+        if (args.length < 2) {
+            throw new IllegalArgumentException(args[0] + " needs a value");
+        }
+
+        return args[1];
+    }
+
+    public static void main(String[] args) throws IOException {
+        Options options;
+        try {
+            options = options(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(1);
+            return;
+        }
+
+        Recording recording = options.recordingFile() == null ? null : record(options.recordingFile());
+        try (AnswerCache cache = options.cacheFile() == null ? null : AnswerCache.open(options.cacheFile(), CACHE_BYTES)) {
+            run(options.days(), options.parts(), options.input(), options.stream(), options.every(), cache);
+        } finally {
+            if (recording != null) {
+                // stopping writes the recording to its destination
+                recording.stop();
+                recording.close();
+            }
+        }
+    }
+
+    // JFR "profile" settings plus the phase and per-day events, dumped to file on close
+    static Recording record(Path file) throws IOException {
+        try {
+            Recording recording = new Recording(Configuration.getConfiguration("profile"));
+            // enable takes an exact event, not a pattern, so every event is named by its class
+            recording.enable(ParseEvent.class);
+            recording.enable(SolveEvent.class);
+            recording.enable(com.panagiotispetridis.day8.Main.ClosestPairEvent.class);
+            recording.enable(com.panagiotispetridis.day10.Main.MachineEvent.class);
+            recording.enable(com.panagiotispetridis.day12.Main.QueryEvent.class);
+            recording.setDestination(file);
+            recording.start();
+
+            return recording;
+        } catch (ParseException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static void run(List<Day> days, List<Boolean> parts, Path input, boolean stream, long every, AnswerCache cache) {
+        for (Day day : days) {
+            for (boolean part2 : parts) {
+                if (stream && day.streams()) {
+                    int part = part2 ? 2 : 1;
+                    Day.Result result = day.stream(part2, input, every, (answer, records) ->
+                            System.out.printf("day %d part %d after %d: %s%n", day.number(), part, records, answer));
+                    System.out.printf("day %d part %d: %s (streamed %.3f ms)%n",
+                            day.number(),
+                            part2 ? 2 : 1,
+                            result.answer(),
+                            millis(result.solveNanos()));
+                    continue;
+                }
+                Day.Result result = day.run(part2, input, cache);
+                if (result.cached()) {
+                    System.out.printf("day %d part %d: %s (cached %.3f ms)%n",
+                            day.number(),
+                            part2 ? 2 : 1,
+                            result.answer(),
+                            millis(result.parseNanos()));
+                    continue;
+                }
+                System.out.printf("day %d part %d: %s (parse %.3f ms, solve %.3f ms)%n",
+                        day.number(),
+                        part2 ? 2 : 1,
+                        result.answer(),
+                        millis(result.parseNanos()),
+                        millis(result.solveNanos()));
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.panagiotispetridis.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedGridTest {
+
+    enum Cell {
+        OFF,
+        ON;
+
+        @Override
+        public String toString() {
+            return this == ON ? "#" : ".";
+        }
+    }
+
+    static MappedGrid<Cell> open(Path file, boolean writable) throws IOException {
+        return MappedGrid.open(file, writable, Cell.class, c -> c == '#' ? Cell.ON : Cell.OFF);
+    }
+
+    @Test
+    void readOnlyGridRefusesWrites() throws IOException {
+        Path file = Files.createTempFile("grid", ".in");
+        try {
+            byte[] text = "#..\r\n.#.\r\n..#".getBytes(StandardCharsets.US_ASCII);
+            Files.write(file, text);
+            MappedGrid<Cell> grid = open(file, false);
+
+            assertFalse(grid.writable());
+            assertEquals(3L, grid.width());
+            assertEquals(3L, grid.height());
+            assertEquals(Cell.ON, grid.at(2, 2));
+            assertThrows(UnsupportedOperationException.class, () -> grid.set(0, 0, Cell.OFF));
+            assertThrows(UnsupportedOperationException.class, () -> grid.writeRow(1, new byte[]{'#', '#', '#'}));
+            assertArrayEquals(text, Files.readAllBytes(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void writableGridWritesThrough() throws IOException {
+        Path file = Files.createTempFile("grid", ".in");
+        try {
+            Files.writeString(file, "#..\n.#.\n..#\n", StandardCharsets.US_ASCII);
+            MappedGrid<Cell> grid = open(file, true);
+
+            assertTrue(grid.writable());
+            grid.set(0, 2, Cell.ON);
+            grid.writeRow(2, new byte[]{'.', '.', '.'});
+
+            assertEquals(Cell.ON, grid.at(0, 2));
+            assertEquals("#.#\n.#.\n...\n", Files.readString(file, StandardCharsets.US_ASCII));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void trailingBlankLinesAreNotRows() throws IOException {
+        Path file = Files.createTempFile("grid", ".in");
+        try {
+            Files.writeString(file, "#.\n.#\n\n", StandardCharsets.US_ASCII);
+            MappedGrid<Cell> grid = open(file, false);
+
+            assertEquals(2L, grid.height());
+            assertEquals(Cell.ON, grid.at(1, 1));
+            assertNull(grid.at(2, 0));
+            assertArrayEquals(new byte[]{'.', '#'}, grid.row(1, new byte[2]));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void unterminatedLastRowIsARow() throws IOException {
+        Path file = Files.createTempFile("grid", ".in");
+        try {
+            Files.writeString(file, "#.\n.#", StandardCharsets.US_ASCII);
+            MappedGrid<Cell> grid = open(file, false);
+
+            assertEquals(2L, grid.height());
+            assertArrayEquals(new byte[]{'.', '#'}, grid.row(1, new byte[2]));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void raggedRowsAreRejected() throws IOException {
+        Path file = Files.createTempFile("grid", ".in");
+        try {
+            Files.writeString(file, "#.\n.#.\n", StandardCharsets.US_ASCII);
+
+            assertThrows(IllegalArgumentException.class, () -> open(file, false));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.panagiotispetridis.day1;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class Day1Test {
+
+    // sizes around and across the parallel chunk boundaries
+    static final int[] SIZES = {Day1.CHUNK + 1, 2 * Day1.CHUNK, 3 * Day1.CHUNK + 17};
+
+    // short turns so the dial often lands on and passes zero, with some exact and multi-turn ones mixed in
+    static Input rotations(long seed, int n) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Input input = new Input(n);
+        for (int i = 0; i < n; i++) {
+            Direction direction = random.nextBoolean() ? Direction.LEFT : Direction.RIGHT;
+            long amount = switch (random.nextInt(8)) {
+                case 0 -> 100L * random.nextInt(1, 4);
+                case 1 -> random.nextLong(1, 10_000);
+                default -> random.nextLong(1, 120);
+            };
+            input.add(direction, amount);
+        }
+
+        return input;
+    }
+
+    static long fold(Input input, boolean part2) {
+        PasswordFold fold = new PasswordFold(part2);
+        for (int i = 0; i < input.size(); i++) {
+            fold.accept(input.rotation(i));
+        }
+
+        return fold.result().password();
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void parallelScanMatchesSequential(boolean part2) {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int n : SIZES) {
+                for (long seed = 1; seed <= 3; seed++) {
+                    Input input = rotations(seed, n);
+                    long sequential = new Day1(part2).solve(input).password();
+                    assertEquals(fold(input, part2), sequential, "closed form, n=" + n + " seed=" + seed);
+                    long parallel = new Day1(part2, pool).solve(input).password();
+                    assertEquals(sequential, parallel, "parallel, n=" + n + " seed=" + seed);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
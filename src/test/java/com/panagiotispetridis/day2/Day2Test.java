@@ -0,0 +1,171 @@
+package com.panagiotispetridis.day2;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Day2Test {
+
+    static Main.Range range(long lower, long upper) {
+        return new Main.Range(BigInteger.valueOf(lower), BigInteger.valueOf(upper));
+    }
+
+    // a block of digits repeated at least twice, exactly twice for part 1
+    static boolean invalid(long id, boolean part2) {
+        String s = Long.toString(id);
+        for (int block = 1; block < s.length(); block++) {
+            if (s.length() % block != 0 || (!part2 && block * 2 != s.length())) {
+                continue;
+            }
+            if (s.equals(s.substring(0, block).repeat(s.length() / block))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    // every id in any of the ranges counted once, one id at a time
+    static BigInteger bruteForce(List<Main.Range> ranges, boolean part2) {
+        BitSet ids = new BitSet();
+        for (Main.Range r : ranges) {
+            ids.set(r.lowerBound().intValueExact(), r.upperBound().intValueExact() + 1);
+        }
+        BigInteger sum = BigInteger.ZERO;
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            if (invalid(id, part2)) {
+                sum = sum.add(BigInteger.valueOf(id));
+            }
+        }
+
+        return sum;
+    }
+
+    static BigInteger solve(List<Main.Range> ranges, boolean part2, ForkJoinPool pool) {
+        return new Main.Day2(part2, null, pool).solve(new Main.Input(ranges)).invalidIdSum();
+    }
+
+    @Test
+    void mergeJoinsOverlappingTouchingAndNestedRanges() {
+        List<Main.Range> ranges = List.of(range(5, 10), range(11, 15), range(1, 3), range(2, 4),
+                range(20, 30), range(22, 25), range(40, 40), range(42, 50));
+
+        assertEquals(List.of(range(1, 15), range(20, 30), range(40, 40), range(42, 50)), Main.Day2.merge(ranges));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void overlappingRangesMatchBruteForce(boolean part2) {
+        SplittableRandom random = new SplittableRandom(16);
+        for (int round = 0; round < 200; round++) {
+            List<Main.Range> ranges = new ArrayList<>();
+            for (int i = random.nextInt(1, 12); i > 0; i--) {
+                long lower = random.nextLong(1, 20_000);
+                ranges.add(range(lower, lower + random.nextLong(i % 3 == 0 ? 2_000 : 200)));
+                // a copy nested inside and one starting right after it
+                if (random.nextInt(4) == 0) {
+                    Main.Range last = ranges.getLast();
+                    long upper = last.upperBound().longValueExact();
+                    ranges.add(range(lower + 1, Math.max(lower + 1, upper - 1)));
+                    ranges.add(range(upper + 1, upper + 1 + random.nextLong(500)));
+                }
+            }
+
+            assertEquals(bruteForce(ranges, part2), solve(ranges, part2, null), ranges.toString());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void parallelMatchesSequential(boolean part2) {
+        SplittableRandom random = new SplittableRandom(32);
+        List<Main.Range> ranges = new ArrayList<>();
+        // many more merged ranges than one shard, some overlapping each other
+        for (int i = 0; i < 6 * Main.Day2.SHARD; i++) {
+            long lower = random.nextLong(1, 1_000_000_000_000L);
+            ranges.add(range(lower, lower + random.nextLong(1, 50_000_000L)));
+        }
+        assertTrue(Main.Day2.merge(ranges).size() > 4 * Main.Day2.SHARD);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertEquals(solve(ranges, part2, null), solve(ranges, part2, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    static BigInteger closedForm(long lower, long upper, boolean part2) {
+        Main.Sum128 sum = new Main.Sum128();
+        Main.RepeatedIds.sum(lower, upper, part2, sum);
+
+        return sum.toBigInteger();
+    }
+
+    static BigInteger enumerated(long lower, long upper, boolean part2) {
+        return new Main.Day2(part2).invalidIdSumAnyTimes(range(lower, upper), part2 ? 99999999 : 2);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void closedFormMatchesEnumerationOnRandomRanges(boolean part2) {
+        SplittableRandom random = new SplittableRandom(14);
+        for (int i = 0; i < 300; i++) {
+            long lower = random.nextLong(1, 10_000_000_000L);
+            long upper = Math.min(9_999_999_999L, lower + random.nextLong(1, i % 2 == 0 ? 100_000 : 2_000_000_000L));
+
+            assertEquals(enumerated(lower, upper, part2), closedForm(lower, upper, part2), "range " + lower + "-" + upper);
+        }
+    }
+
+    @Test
+    void negativeMobiusTermsCountEachIdOnce() {
+        // 6 = 2 * 3 and 10 = 2 * 5: ids like 111111 have periods 1, 2 and 3 and the single digit one is
+        // subtracted back out
+        assertEquals(BigInteger.valueOf(111111), closedForm(111111, 111111, true));
+        assertEquals(BigInteger.valueOf(1111111111L), closedForm(1111111111L, 1111111111L, true));
+        List<Main.Range> sixDigits = List.of(range(100_000, 999_999));
+        assertEquals(bruteForce(sixDigits, true), closedForm(100_000, 999_999, true));
+        assertEquals(bruteForce(sixDigits, false), closedForm(100_000, 999_999, false));
+        assertEquals(enumerated(1_000_000_000L, 9_999_999_999L, true), closedForm(1_000_000_000L, 9_999_999_999L, true));
+    }
+
+    @Test
+    void sumsPastLongMaxValueCarryIntoTheHighWord() {
+        // the 18 digit part 1 ids are b * (10^9 + 1) for every 9 digit block b
+        BigInteger repunit = BigInteger.valueOf(1_000_000_001L);
+        BigInteger blocks = BigInteger.valueOf(100_000_000L + 999_999_999L).multiply(BigInteger.valueOf(900_000_000L))
+                .shiftRight(1);
+        BigInteger expected = repunit.multiply(blocks);
+        assertTrue(expected.bitLength() > 63);
+
+        assertEquals(expected, closedForm(100_000_000_000_000_000L, 999_999_999_999_999_999L, false));
+    }
+
+    @Test
+    void sum128MatchesBigInteger() {
+        SplittableRandom random = new SplittableRandom(128);
+        Main.Sum128 sum = new Main.Sum128();
+        BigInteger expected = BigInteger.ZERO;
+        for (int i = 0; i < 10_000; i++) {
+            int sign = random.nextBoolean() ? 1 : -1;
+            // products up to 2^112, so 10000 of them stay inside the signed 128-bit range
+            long a = random.nextLong(Long.MAX_VALUE);
+            long b = i % 3 == 0 ? random.nextLong(1L << 49) : random.nextLong(1_000);
+            sum.add(sign, a, b);
+            expected = expected.add(BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)).multiply(BigInteger.valueOf(sign)));
+
+            assertEquals(expected, sum.toBigInteger(), "after " + (i + 1) + " terms");
+        }
+    }
+}
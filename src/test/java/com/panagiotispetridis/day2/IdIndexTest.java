@@ -0,0 +1,76 @@
+package com.panagiotispetridis.day2;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IdIndexTest {
+
+    static final long BOUND = 100_000_000L;
+
+    static Path file() throws IOException {
+        Path file = Files.createTempFile("day2", ".idx");
+        file.toFile().deleteOnExit();
+
+        return file;
+    }
+
+    static BigInteger closedForm(long lower, long upper, boolean part2) {
+        Main.Sum128 sum = new Main.Sum128();
+        Main.RepeatedIds.sum(lower, upper, part2, sum);
+
+        return sum.toBigInteger();
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void writeReadQueryRoundTrip(boolean part2) throws IOException {
+        Main.IdIndex built = Main.IdIndex.build(part2, BOUND);
+        Path file = file();
+        built.write(file);
+        Main.IdIndex read = Main.IdIndex.read(file);
+
+        assertEquals(built.part2(), read.part2());
+        assertEquals(built.bound(), read.bound());
+        assertEquals(built.size(), read.size());
+        assertEquals(built.sum(0, BOUND), read.sum(0, BOUND));
+        SplittableRandom random = new SplittableRandom(15);
+        for (int i = 0; i < 2000; i++) {
+            long lower = random.nextLong(BOUND);
+            long upper = lower + random.nextLong(1, i % 2 == 0 ? 1_000 : BOUND / 10);
+            long sum = read.sum(lower, Math.min(upper, BOUND));
+            assertEquals(built.sum(lower, Math.min(upper, BOUND)), sum, "range " + lower + "-" + upper);
+            assertEquals(closedForm(lower, Math.min(upper, BOUND), part2), BigInteger.valueOf(sum),
+                    "range " + lower + "-" + upper);
+        }
+    }
+
+    @Test
+    void otherFormatVersionIsRejected() throws IOException {
+        Path file = file();
+        Main.IdIndex.build(false, 1_000_000L).write(file);
+        byte[] bytes = Files.readAllBytes(file);
+        // the version follows the 4 byte magic
+        bytes[7]++;
+        Files.write(file, bytes);
+
+        assertThrows(IOException.class, () -> Main.IdIndex.read(file));
+    }
+
+    @Test
+    void otherFileIsRejected() throws IOException {
+        Path file = file();
+        Files.writeString(file, "1-2,3-4\n");
+
+        assertThrows(IOException.class, () -> Main.IdIndex.read(file));
+    }
+}
@@ -0,0 +1,153 @@
+package com.panagiotispetridis.day3;
+
+import com.panagiotispetridis.common.ByteReader;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Scanner;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class Day3Test {
+
+    static final int MAX_PICKS = Main.Parser.Day3.MAX_PICKS;
+
+    final Main.Parser.Day3 day3 = new Main.Parser.Day3(false);
+
+    static byte[] row(SplittableRandom random, int length, int lowest, int highest) {
+        byte[] batteries = new byte[length];
+        for (int i = 0; i < length; i++) {
+            batteries[i] = (byte) random.nextInt(lowest, highest + 1);
+        }
+
+        return batteries;
+    }
+
+    // shared by every row and pick count, so the stack is reused with whatever the last row left in it
+    final byte[] scratch = new byte[MAX_PICKS];
+
+    void assertMatchesReference(byte[] batteries) {
+        for (int k = 1; k <= Math.min(batteries.length, MAX_PICKS); k++) {
+            long expected = day3.maxJoltageForBatteryRow(new Main.BatteryRow(batteries), k);
+            assertEquals(expected, day3.maxJoltage(batteries, k), () -> "row " + Arrays.toString(batteries));
+            assertEquals(expected, day3.maxJoltage(batteries, k, scratch), () -> "row " + Arrays.toString(batteries));
+        }
+    }
+
+    @Test
+    void stackMatchesDpOnRandomRows() {
+        SplittableRandom random = new SplittableRandom(17);
+        for (int i = 0; i < 2000; i++) {
+            assertMatchesReference(row(random, random.nextInt(1, 40), 0, 9));
+        }
+    }
+
+    @Test
+    void stackMatchesDpWithTies() {
+        SplittableRandom random = new SplittableRandom(3);
+        for (int i = 0; i < 2000; i++) {
+            int low = random.nextInt(0, 9);
+            assertMatchesReference(row(random, random.nextInt(1, 40), low, low + 1));
+        }
+    }
+
+    @Test
+    void stackMatchesDpOnAllEqualDigits() {
+        for (int digit = 0; digit <= 9; digit++) {
+            for (int length = 1; length <= 30; length++) {
+                byte[] batteries = new byte[length];
+                Arrays.fill(batteries, (byte) digit);
+                assertMatchesReference(batteries);
+            }
+        }
+    }
+
+    @Test
+    void stackMatchesDpWhenEveryBatteryIsPicked() {
+        SplittableRandom random = new SplittableRandom(12);
+        for (int length = 1; length <= MAX_PICKS; length++) {
+            for (int i = 0; i < 50; i++) {
+                byte[] batteries = row(random, length, 0, 9);
+                assertEquals(day3.maxJoltageForBatteryRow(new Main.BatteryRow(batteries), length),
+                        day3.maxJoltage(batteries, length), () -> "row " + Arrays.toString(batteries));
+            }
+        }
+    }
+
+    @Test
+    void severalPicksInOneScanMatchOneScanEach() {
+        SplittableRandom random = new SplittableRandom(18);
+        int[] picks = {1, 2, 3, 12, MAX_PICKS};
+        for (int i = 0; i < 2000; i++) {
+            // includes rows shorter than some of the pick counts
+            byte[] batteries = row(random, random.nextInt(1, 40), i % 3 == 0 ? 8 : 0, 9);
+            long[] joltages = day3.maxJoltages(batteries, picks);
+            for (int q = 0; q < picks.length; q++) {
+                assertEquals(day3.maxJoltage(batteries, picks[q]), joltages[q],
+                        "k=" + picks[q] + " row " + Arrays.toString(batteries));
+            }
+        }
+    }
+
+    @Test
+    void totalsForSeveralPicksMatchEachPickAlone() {
+        SplittableRandom random = new SplittableRandom(24);
+        int[] picks = {2, 7, 12};
+        StringBuilder text = new StringBuilder();
+        long[] expected = new long[picks.length];
+        // spans several fork/join leaves
+        for (int i = 0; i < 3 * Main.Parser.Day3.SHARD + 5; i++) {
+            byte[] batteries = row(random, random.nextInt(12, 60), 1, 9);
+            for (byte battery : batteries) {
+                text.append((char) ('0' + battery));
+            }
+            text.append('\n');
+            for (int q = 0; q < picks.length; q++) {
+                expected[q] += day3.maxJoltage(batteries, picks[q]);
+            }
+        }
+        byte[] raw = text.toString().getBytes(StandardCharsets.US_ASCII);
+
+        assertArrayEquals(expected, Main.joltages(ByteReader.of(raw), picks));
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Main.Input input = new Main.Day3ByteParser(ByteReader.of(raw)).parse();
+            assertArrayEquals(expected, new Main.Parser.Day3(false, pool).joltages(input, picks));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void picksThatOverflowAreRejected() {
+        byte[] raw = "987654321987654321987\n".getBytes(StandardCharsets.US_ASCII);
+
+        assertThrows(IllegalArgumentException.class, () -> Main.joltages(ByteReader.of(raw), 2, MAX_PICKS + 1));
+        assertThrows(IllegalArgumentException.class, () -> Main.joltages(ByteReader.of(raw), 0));
+    }
+
+    @Test
+    void bothParsersSkipBlankLines() {
+        String text = "987654321111111\n\n811111111111119\n\n\n234234234234278\n";
+        Main.Input scanned;
+        try (Scanner scanner = new Scanner(text)) {
+            scanned = new Main.Parser(scanner).parse();
+        }
+        Main.Input read = new Main.Day3ByteParser(ByteReader.of(text.getBytes(StandardCharsets.US_ASCII))).parse();
+
+        assertEquals(3, scanned.batteryRows().size());
+        assertEquals(read.batteryRows().size(), scanned.batteryRows().size());
+        for (int i = 0; i < read.batteryRows().size(); i++) {
+            assertArrayEquals(read.batteryRows().get(i).batteries(), scanned.batteryRows().get(i).batteries());
+        }
+        for (boolean part2 : new boolean[]{false, true}) {
+            Main.Parser.Day3 solver = new Main.Parser.Day3(part2);
+            assertEquals(solver.solve(read).joltage(), solver.solve(scanned).joltage());
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.panagiotispetridis.day4;
+
+import com.panagiotispetridis.common.ByteReader;
+import com.panagiotispetridis.common.MappedGrid;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Scanner;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class Day4Test {
+
+    final Main.Day4 day4 = new Main.Day4(true);
+
+    static Main.BitGrid random(SplittableRandom random, int height, int width, double density) {
+        Main.BitGrid grid = new Main.BitGrid(new long[height][Main.BitGrid.words(width)], width);
+        for (int i = 0; i < height; i++) {
+            for (int j = 0; j < width; j++) {
+                if (random.nextDouble() < density) {
+                    grid.set(i, j, Main.Tile.PAPER);
+                }
+            }
+        }
+
+        return grid;
+    }
+
+    static Main.BitGrid copy(Main.BitGrid grid) {
+        long[][] rows = new long[grid.height()][];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = grid.row(i).clone();
+        }
+
+        return new Main.BitGrid(rows, grid.width());
+    }
+
+    // stripes are at least MIN_ROWS high, so every grid here spans several of them
+    long tiled(Main.BitGrid grid) {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            return new Main.TiledCascade(grid, pool).count();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void wordParallelCountMatchesPerCellReference() {
+        SplittableRandom random = new SplittableRandom(19);
+        // word boundaries fall inside, on and just past the last cell of a row
+        int[] widths = {1, 63, 64, 65, 130};
+        double[] densities = {0.2, 0.5, 0.7, 0.9};
+        for (int width : widths) {
+            for (double density : densities) {
+                for (int height : new int[]{1, 2, random.nextInt(3, 40)}) {
+                    Main.BitGrid grid = random(random, height, width, density);
+
+                    assertEquals(day4.accessibleRolls(grid).size(), day4.countAccessibleRolls(grid),
+                            height + "x" + width + " at " + density);
+                }
+            }
+        }
+    }
+
+    @Test
+    void tiledMatchesWorklistOnRandomGrids() {
+        SplittableRandom random = new SplittableRandom(21);
+        int[] widths = {1, 2, 63, 64, 65, 130};
+        double[] densities = {0.5, 0.65, 0.75, 0.85};
+        for (int width : widths) {
+            for (double density : densities) {
+                int height = random.nextInt(2 * Main.TiledCascade.MIN_ROWS, 9 * Main.TiledCascade.MIN_ROWS);
+                Main.BitGrid grid = random(random, height, width, density);
+                long expected = day4.countRemovableRolls(grid);
+
+                assertEquals(expected, tiled(grid), height + "x" + width + " at " + density);
+                if (width <= 65) {
+                    assertEquals(expected, day4.removeRolls(copy(grid)), height + "x" + width + " at " + density);
+                }
+            }
+        }
+    }
+
+    /**
+     * A two wide column of rolls standing on (or hanging from) an octagon. The octagon is stable, every
+     * roll on its outline keeps at least four neighbours, so the column peels from its free end only,
+     * one row per round, towards the octagon.
+     */
+    static Main.BitGrid column(int length, boolean downwards) {
+        int radius = 3;
+        int flat = 4;
+        int centre = radius + 1;
+        int width = 2 * centre + 2;
+        int[] spans = new int[2 * radius + 1 + flat];
+        for (int k = 0; k < spans.length; k++) {
+            spans[k] = Math.min(radius, Math.min(k, spans.length - 1 - k));
+        }
+
+        Main.BitGrid grid = new Main.BitGrid(new long[length + spans.length][1], width);
+        for (int i = 0; i < length + spans.length; i++) {
+            int k = i - length;
+            int half = k < 0 ? 0 : spans[k];
+            int y = downwards ? i : length + spans.length - 1 - i;
+            for (int x = centre - half; x <= centre + 1 + half; x++) {
+                grid.set(y, x, Main.Tile.PAPER);
+            }
+        }
+
+        return grid;
+    }
+
+    @Test
+    void cascadeCrossesEveryStripeDownwards() {
+        int length = 10 * Main.TiledCascade.MIN_ROWS + 3;
+        Main.BitGrid grid = column(length, true);
+
+        assertEquals(2L * length, day4.countRemovableRolls(grid));
+        assertEquals(2L * length, tiled(grid));
+    }
+
+    @Test
+    void cascadeCrossesEveryStripeUpwards() {
+        int length = 10 * Main.TiledCascade.MIN_ROWS + 3;
+        Main.BitGrid grid = column(length, false);
+
+        assertEquals(2L * length, day4.countRemovableRolls(grid));
+        assertEquals(2L * length, tiled(grid));
+    }
+
+    interface Sweeps {
+        long on(MappedGrid<Main.Tile> grid);
+    }
+
+    static long mapped(Main.BitGrid grid, Sweeps sweeps) throws IOException {
+        Path file = Files.createTempFile("day4", ".in");
+        try {
+            Files.writeString(file, grid.toString(), StandardCharsets.US_ASCII);
+            return sweeps.on(MappedGrid.open(file, true, Main.Tile.class, c -> Main.Tile.fromChar((char) c)));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    long sweeps(Main.BitGrid grid) throws IOException {
+        return mapped(grid, day4::removeRollsInSweeps);
+    }
+
+    @Test
+    void sweepsMatchWorklist() throws IOException {
+        SplittableRandom random = new SplittableRandom(22);
+        for (int i = 0; i < 40; i++) {
+            Main.BitGrid grid = random(random, random.nextInt(1, 80), random.nextInt(1, 80), random.nextDouble(0.4, 0.9));
+            assertEquals(day4.countRemovableRolls(grid), sweeps(grid), grid::toString);
+        }
+        for (boolean downwards : new boolean[]{true, false}) {
+            Main.BitGrid grid = column(500, downwards);
+            assertEquals(1000L, sweeps(grid));
+        }
+    }
+
+    @Test
+    void oneSweepFollowsACascadeItsOwnWay() throws IOException {
+        int length = 500;
+
+        assertEquals(2L * length, mapped(column(length, true), grid -> Main.Day4.sweep(grid, true)));
+        assertEquals(2L * length, mapped(column(length, false), grid -> Main.Day4.sweep(grid, false)));
+        // against the cascade a sweep only takes the free end
+        assertEquals(2L, mapped(column(length, false), grid -> Main.Day4.sweep(grid, true)));
+    }
+
+    @Test
+    void sweepsRefuseTheInputItself() throws IOException {
+        Path file = Files.createTempFile("day4", ".in");
+        try {
+            Main.BitGrid column = column(10, true);
+            byte[] text = column.toString().getBytes(StandardCharsets.US_ASCII);
+            Files.write(file, text);
+            MappedGrid<Main.Tile> grid = MappedGrid.open(file, false, Main.Tile.class, c -> Main.Tile.fromChar((char) c));
+
+            assertThrows(IllegalArgumentException.class, () -> day4.removeRollsInSweeps(grid));
+            assertEquals(day4.countAccessibleRolls(column), day4.countAccessibleRolls(grid));
+            assertArrayEquals(text, Files.readAllBytes(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void bothParsersDropBlankLines() {
+        String text = "\n..@@.@@@@.\n@@@.@.@.@@\n\n@@@@@.@.@@\n@.@@@@..@.\n\n\n";
+        Main.Input scanned;
+        try (Scanner scanner = new Scanner(text)) {
+            scanned = new Main.Parser(scanner).parse();
+        }
+        Main.Input read = new Main.Day4ByteParser(ByteReader.of(text.getBytes(StandardCharsets.US_ASCII))).parse();
+
+        assertEquals(4, scanned.grid().height());
+        assertEquals(read.grid().height(), scanned.grid().height());
+        assertEquals(read.grid().width(), scanned.grid().width());
+        for (int i = 0; i < read.grid().height(); i++) {
+            assertArrayEquals(read.grid().row(i), scanned.grid().row(i), "row " + i);
+        }
+        for (boolean part2 : new boolean[]{false, true}) {
+            Main.Day4 solver = new Main.Day4(part2);
+            assertEquals(solver.solve(read).accessibleRolls(), solver.solve(scanned).accessibleRolls());
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.panagiotispetridis.day5;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Day5Test {
+
+    static final int IDS = 600;
+
+    final Main.Day5 day5 = new Main.Day5(true);
+
+    static Main.RangeIndex build(List<Main.Range> ranges) {
+        long[] starts = new long[ranges.size()];
+        long[] ends = new long[ranges.size()];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = ranges.get(i).start();
+            ends[i] = ranges.get(i).end();
+        }
+
+        return Main.RangeIndex.build(starts, ends);
+    }
+
+    // the index a set of ids should have, one range per run of ids
+    static Main.RangeIndex build(BitSet ids) {
+        List<Main.Range> runs = new ArrayList<>();
+        for (int start = ids.nextSetBit(0); start >= 0; start = ids.nextSetBit(ids.nextClearBit(start))) {
+            runs.add(new Main.Range(start, ids.nextClearBit(start) - 1));
+        }
+
+        return build(runs);
+    }
+
+    static List<Main.Range> ranges(SplittableRandom random, int count) {
+        List<Main.Range> ranges = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            long start = random.nextInt(IDS);
+            ranges.add(new Main.Range(start, Math.min(IDS - 1, start + random.nextInt(20))));
+        }
+
+        return ranges;
+    }
+
+    static void assertSameIds(BitSet ids, Main.RangeIndex index) {
+        for (int id = -1; id <= IDS; id++) {
+            assertEquals(id >= 0 && ids.get(id), index.contains(id), "id " + id + " in " + index);
+        }
+        assertEquals(ids.cardinality(), index.sum(), index.toString());
+    }
+
+    // contains and a batch count agree with the ranges on every query, count gets a copy as it sorts in place
+    static void assertLookups(Main.RangeIndex index, List<Main.Range> ranges, long... queries) {
+        long inside = 0;
+        for (long query : queries) {
+            boolean expected = ranges.stream().anyMatch(r -> r.contains(query));
+            assertEquals(expected, index.contains(query), "id " + query + " in " + index);
+            inside += expected ? 1 : 0;
+        }
+        assertEquals(inside, index.count(queries.clone()), "batch count in " + index);
+    }
+
+    @Test
+    void buildMatchesTree() {
+        SplittableRandom random = new SplittableRandom(5);
+        for (int i = 0; i < 300; i++) {
+            List<Main.Range> ranges = ranges(random, random.nextInt(1, 60));
+            BitSet ids = new BitSet();
+            for (Main.Range r : ranges) {
+                ids.set((int) r.start(), (int) r.end() + 1);
+            }
+            Main.RangeIndex tree = day5.merge(ranges);
+
+            assertSameIds(ids, tree);
+            assertSameIds(ids, build(ranges));
+            assertEquals(build(ids), build(ranges));
+        }
+    }
+
+    @Test
+    void frozenIndexLooksUpTouchingNestedAndDisjointRanges() {
+        List<Main.Range> touching = List.of(new Main.Range(10, 19), new Main.Range(20, 29));
+        assertLookups(day5.merge(touching), touching, 9, 10, 19, 20, 29, 30);
+
+        List<Main.Range> nested = List.of(new Main.Range(10, 100), new Main.Range(20, 30), new Main.Range(40, 100));
+        Main.RangeIndex index = day5.merge(nested);
+        assertEquals(1, index.size());
+        assertEquals(91L, index.sum());
+        assertLookups(index, nested, 9, 10, 25, 31, 100, 101);
+
+        List<Main.Range> disjoint = List.of(new Main.Range(5, 5), new Main.Range(7, 9), new Main.Range(20, 30));
+        index = day5.merge(disjoint);
+        assertEquals(3, index.size());
+        assertEquals(15L, index.sum());
+        assertLookups(index, disjoint, 4, 5, 6, 7, 9, 10, 19, 20, 30, 31);
+    }
+
+    @Test
+    void frozenIndexLookupsAtTheBoundaries() {
+        assertFalse(day5.merge(List.of()).contains(0));
+        assertEquals(0L, day5.merge(List.of()).count(new long[]{0, 1}));
+
+        List<Main.Range> single = List.of(new Main.Range(3, 3));
+        assertLookups(day5.merge(single), single, Long.MIN_VALUE, 2, 3, 4, Long.MAX_VALUE);
+
+        List<Main.Range> extremes = List.of(new Main.Range(0, 1), new Main.Range(Long.MAX_VALUE - 1, Long.MAX_VALUE));
+        assertLookups(day5.merge(extremes), extremes, -1, 0, 1, 2, Long.MAX_VALUE - 2, Long.MAX_VALUE - 1, Long.MAX_VALUE);
+
+        // every position in an odd and an even number of ranges, so each step of the search is taken
+        for (int n = 1; n <= 9; n++) {
+            List<Main.Range> ranges = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                ranges.add(new Main.Range(10L * i, 10L * i + 4));
+            }
+            long[] queries = new long[10 * n + 2];
+            for (int q = 0; q < queries.length; q++) {
+                queries[q] = q - 1;
+            }
+            assertLookups(day5.merge(ranges), ranges, queries);
+        }
+    }
+
+    @Test
+    void bulkBuildMergesTouchingNestedAndDisjointRanges() {
+        // starts and ends are sorted apart, so a range nested in another must not close it early
+        List<Main.Range> nested = List.of(new Main.Range(40, 100), new Main.Range(10, 100), new Main.Range(20, 30));
+        assertEquals(build(List.of(new Main.Range(10, 100))), build(nested));
+        assertLookups(build(nested), nested, 9, 10, 31, 39, 100, 101);
+
+        List<Main.Range> touching = List.of(new Main.Range(20, 29), new Main.Range(10, 19), new Main.Range(30, 30));
+        assertEquals(build(List.of(new Main.Range(10, 30))), build(touching));
+        assertLookups(build(touching), touching, 9, 10, 19, 20, 30, 31);
+
+        List<Main.Range> disjoint = List.of(new Main.Range(20, 30), new Main.Range(5, 5), new Main.Range(7, 9));
+        Main.RangeIndex index = build(disjoint);
+        assertEquals("[5-5, 7-9, 20-30]", index.toString());
+        assertLookups(index, disjoint, 4, 5, 6, 7, 9, 10, 19, 20, 30, 31);
+
+        // duplicates and a range straddling two others
+        List<Main.Range> mixed = List.of(new Main.Range(1, 5), new Main.Range(1, 5), new Main.Range(10, 12),
+                new Main.Range(4, 11), new Main.Range(20, 20));
+        assertEquals("[1-12, 20-20]", build(mixed).toString());
+    }
+
+    @Test
+    void bulkBuildAtTheBoundaries() {
+        assertEquals(0, build(List.of()).size());
+        assertFalse(build(List.of()).contains(0));
+
+        List<Main.Range> extremes = List.of(new Main.Range(Long.MAX_VALUE - 1, Long.MAX_VALUE),
+                new Main.Range(Long.MIN_VALUE, Long.MIN_VALUE + 1), new Main.Range(Long.MAX_VALUE, Long.MAX_VALUE));
+        Main.RangeIndex index = build(extremes);
+        // the id after Long.MAX_VALUE doesn't wrap around to touch Long.MIN_VALUE
+        assertEquals(2, index.size());
+        assertLookups(index, extremes, Long.MIN_VALUE, Long.MIN_VALUE + 1, Long.MIN_VALUE + 2,
+                Long.MAX_VALUE - 2, Long.MAX_VALUE - 1, Long.MAX_VALUE);
+    }
+
+    @Test
+    void withoutInsideOneRangeKeepsBothSides() {
+        Main.RangeIndex index = build(List.of(new Main.Range(10, 20), new Main.Range(30, 40)));
+
+        Main.RangeIndex cut = index.without(13, 15);
+
+        assertEquals(build(List.of(new Main.Range(10, 12), new Main.Range(16, 20), new Main.Range(30, 40))), cut);
+        assertTrue(cut.contains(12));
+        assertFalse(cut.contains(13));
+        assertFalse(cut.contains(15));
+        assertTrue(cut.contains(16));
+        assertEquals(19L, cut.sum());
+        // the original version is left as it was
+        assertEquals(22L, index.sum());
+    }
+
+    @Test
+    void withJoinsRangesItTouches() {
+        Main.RangeIndex index = build(List.of(new Main.Range(10, 20)));
+
+        assertEquals(build(List.of(new Main.Range(10, 25))), index.with(21, 25));
+        assertEquals(build(List.of(new Main.Range(5, 20))), index.with(5, 9));
+        assertEquals(build(List.of(new Main.Range(10, 20), new Main.Range(22, 25))), index.with(22, 25));
+        // filling the hole a cut left gives back one range
+        assertEquals(index, index.without(13, 15).with(13, 15));
+        assertEquals(1, build(List.of(new Main.Range(1, 3), new Main.Range(4, 5))).size());
+        assertEquals(1, build(List.of(new Main.Range(Long.MAX_VALUE - 3, Long.MAX_VALUE))).with(0, Long.MAX_VALUE - 4).size());
+    }
+
+    @Test
+    void withAndWithoutMatchRebuilding() {
+        SplittableRandom random = new SplittableRandom(25);
+        for (int round = 0; round < 50; round++) {
+            BitSet ids = new BitSet();
+            Main.RangeIndex index = build(List.of());
+            for (int i = 0; i < 100; i++) {
+                Main.Range r = ranges(random, 1).get(0);
+                if (random.nextInt(3) == 0) {
+                    index = index.without(r.start(), r.end());
+                    ids.clear((int) r.start(), (int) r.end() + 1);
+                } else {
+                    index = index.with(r.start(), r.end());
+                    ids.set((int) r.start(), (int) r.end() + 1);
+                }
+
+                assertEquals(build(ids), index);
+            }
+            assertSameIds(ids, index);
+        }
+    }
+
+    @Test
+    void concurrentAddsAndRemovesAreAllKept() throws InterruptedException {
+        // each writer edits its own block of ids, so the final set does not depend on the interleaving
+        int writers = 4;
+        Main.ConcurrentRangeSet set = new Main.ConcurrentRangeSet();
+        BitSet[] expected = new BitSet[writers];
+        Thread[] threads = new Thread[writers];
+        for (int t = 0; t < writers; t++) {
+            int block = t;
+            expected[t] = new BitSet();
+            threads[t] = new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(block);
+                for (int i = 0; i < 20000; i++) {
+                    Main.Range r = ranges(random, 1).get(0);
+                    int start = block * IDS + (int) r.start();
+                    int end = block * IDS + (int) r.end();
+                    if (random.nextInt(3) == 0) {
+                        set.remove(start, end);
+                        expected[block].clear(start, end + 1);
+                    } else {
+                        set.add(start, end);
+                        expected[block].set(start, end + 1);
+                    }
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        BitSet ids = new BitSet();
+        for (BitSet block : expected) {
+            ids.or(block);
+        }
+        assertEquals(ids.cardinality(), set.sum());
+        assertEquals(build(ids), set.snapshot());
+    }
+}
@@ -0,0 +1,118 @@
+package com.panagiotispetridis.day6;
+
+import com.panagiotispetridis.generator.Generators;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Scanner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Day6Test {
+
+    static final String EXAMPLE = String.join("\n",
+            "123 328  51 64 ",
+            " 45 64  387 23 ",
+            "  6 98  215 314",
+            "*   +   *   +  ") + "\n";
+
+    static long inMemory(String text, boolean part2) {
+        try (Scanner scanner = new Scanner(text)) {
+            return new Main.Day6().solve(new Main.Day6Parser(scanner, part2).parse()).summedResults();
+        }
+    }
+
+    // read through a channel that can't be read by offset, so it is spooled to a file first
+    static long streamed(String text, boolean part2) {
+        Main.Day6Fold fold = new Main.Day6Fold();
+        byte[] raw = text.getBytes(StandardCharsets.US_ASCII);
+        new Main.Day6StreamingParser(Channels.newChannel(new ByteArrayInputStream(raw)), part2).parse(fold);
+
+        return fold.result().summedResults();
+    }
+
+    static long streamedFromFile(String text, boolean part2) throws IOException {
+        Path file = Files.createTempFile("day6", ".in");
+        try {
+            Files.writeString(file, text, StandardCharsets.US_ASCII);
+            Main.Day6Fold fold = new Main.Day6Fold();
+            try (FileChannel channel = FileChannel.open(file)) {
+                new Main.Day6StreamingParser(channel, part2).parse(fold);
+            }
+
+            return fold.result().summedResults();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    static String generated(long size) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Generators.generate(6, 6, size, out);
+
+        return out.toString(StandardCharsets.US_ASCII);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void streamedMatchesInMemory(boolean part2) throws IOException {
+        assertEquals(part2 ? 3263827L : 4277556L, inMemory(EXAMPLE, part2));
+        assertEquals(inMemory(EXAMPLE, part2), streamed(EXAMPLE, part2));
+        assertEquals(inMemory(EXAMPLE, part2), streamedFromFile(EXAMPLE, part2));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void crlfLineEndingsGiveTheSameAnswer(boolean part2) throws IOException {
+        String crlf = EXAMPLE.replace("\n", "\r\n");
+
+        assertEquals(inMemory(EXAMPLE, part2), streamed(crlf, part2));
+        assertEquals(inMemory(EXAMPLE, part2), streamedFromFile(crlf, part2));
+        // and without a line ending after the operator row
+        assertEquals(inMemory(EXAMPLE, part2), streamed(crlf.stripTrailing(), part2));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void raggedLastColumnReadsAsBlank(boolean part2) {
+        // trailing spaces trimmed, so the rows end at different columns inside the last problem
+        String ragged = String.join("\n",
+                "123 328  51 64",
+                " 45 64  387 23",
+                "  6 98  215 314",
+                "*   +   *   +");
+
+        assertEquals(inMemory(EXAMPLE, part2), streamed(ragged, part2));
+        assertEquals(inMemory(EXAMPLE, part2), streamed(ragged + "\n", part2));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void problemsSplitAcrossWindowsMatchInMemory(boolean part2) throws IOException {
+        String text = generated(256 << 10);
+        List<String> rows = text.lines().toList();
+        int window = Math.max(256, Main.Day6StreamingParser.WINDOW_BYTES / rows.size());
+        // several windows wide, and the first boundary falls inside a problem
+        assertTrue(rows.getFirst().length() > 3 * window, "sheet is only " + rows.getFirst().length() + " wide");
+        boolean inside = false;
+        for (String row : rows) {
+            inside |= row.charAt(window - 1) != ' ' && row.charAt(window) != ' ';
+        }
+        assertTrue(inside, "no problem crosses column " + window);
+
+        long expected = inMemory(text, part2);
+        assertEquals(expected, streamed(text, part2));
+        assertEquals(expected, streamedFromFile(text, part2));
+        assertEquals(expected, streamed(text.replace("\n", "\r\n"), part2));
+    }
+}
@@ -0,0 +1,80 @@
+package com.panagiotispetridis.day7;
+
+import com.panagiotispetridis.generator.Generators;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Scanner;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class Day7Test {
+
+    static Main.Input parse(String text) {
+        try (Scanner scanner = new Scanner(text)) {
+            return new Main.Day7Parser(scanner).parse();
+        }
+    }
+
+    static int start(Main.Input input) {
+        for (int x = 0; x < input.grid().width(); x++) {
+            if (Main.Tile.BEAM.equals(input.grid().at(0, x))) {
+                return x;
+            }
+        }
+
+        throw new IllegalStateException("no start");
+    }
+
+    static long reference(Main.Input input) {
+        return new Main.Day7(true).timelines(input.grid(), new Main.Day7.Frame(0, start(input)));
+    }
+
+    static long rowAtATime(Main.Input input) {
+        return new Main.Day7(true).countTimelines(input.grid(), start(input));
+    }
+
+    // splitters anywhere, on the edge columns and on neighbouring cells too
+    static String manifold(SplittableRandom random, int height, int width, double density) {
+        StringBuilder text = new StringBuilder();
+        int start = random.nextInt(width);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (y == 0) {
+                    text.append(x == start ? 'S' : '.');
+                } else {
+                    text.append(random.nextDouble() < density ? '^' : '.');
+                }
+            }
+            text.append('\n');
+        }
+
+        return text.toString();
+    }
+
+    @Test
+    void countTimelinesMatchesRecursiveReferenceOnRandomManifolds() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int round = 0; round < 500; round++) {
+            int width = random.nextInt(1, 40);
+            int height = random.nextInt(1, 60);
+            double density = new double[]{0.05, 0.2, 0.5, 0.9}[round % 4];
+            String text = manifold(random, height, width, density);
+            Main.Input input = parse(text);
+
+            assertEquals(reference(input), rowAtATime(input), text);
+        }
+    }
+
+    @Test
+    void countTimelinesMatchesRecursiveReferenceOnGeneratedInput() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Generators.generate(7, 7, 64 << 10, out);
+        Main.Input input = parse(out.toString(StandardCharsets.US_ASCII));
+
+        assertEquals(reference(input), rowAtATime(input));
+        assertEquals(reference(input), new Main.Day7(true).solve(input).answer());
+    }
+}
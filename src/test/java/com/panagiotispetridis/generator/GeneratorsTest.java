@@ -0,0 +1,127 @@
+package com.panagiotispetridis.generator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeneratorsTest {
+
+    static byte[] generate(int day, long seed, long size) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Generators.generate(day, seed, size, out);
+
+        return out.toByteArray();
+    }
+
+    static List<String> lines(int day, long seed, long size) {
+        return new String(generate(day, seed, size), StandardCharsets.US_ASCII).lines().toList();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12})
+    void sameSeedGivesSameBytes(int day) {
+        assertArrayEquals(generate(day, 42, 16 << 10), generate(day, 42, 16 << 10));
+        assertFalse(Arrays.equals(generate(day, 42, 16 << 10), generate(day, 43, 16 << 10)),
+                "a different seed gave the same input");
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12})
+    void outputIsNearTheRequestedSize(int day) {
+        for (long size : new long[]{4 << 10, 64 << 10}) {
+            long written = generate(day, 7, size).length;
+            assertTrue(written >= size * 3 / 4 && written <= size * 5 / 4,
+                    "day " + day + " wrote " + written + " bytes for " + size);
+        }
+    }
+
+    @Test
+    void day9PolygonIsClosedWithAxisAlignedEdges() {
+        List<String> lines = lines(9, 3, 16 << 10);
+        long[][] vertices = new long[lines.size()][];
+        for (int i = 0; i < lines.size(); i++) {
+            String[] xy = lines.get(i).split(",");
+            vertices[i] = new long[]{Long.parseLong(xy[0]), Long.parseLong(xy[1])};
+        }
+
+        assertTrue(vertices.length >= 4 && vertices.length % 2 == 0, vertices.length + " vertices");
+        for (int i = 0; i < vertices.length; i++) {
+            // the last edge runs back to the first vertex
+            long[] from = vertices[i];
+            long[] to = vertices[(i + 1) % vertices.length];
+            boolean vertical = from[0] == to[0] && from[1] != to[1];
+            boolean horizontal = from[1] == to[1] && from[0] != to[0];
+            assertTrue(vertical ^ horizontal, "edge " + i + " is not axis-aligned");
+            // edges alternate between vertical and horizontal
+            assertEquals(i % 2 == 0, vertical, "edge " + i);
+        }
+    }
+
+    @Test
+    void day11GraphIsAcyclicAndReachesOut() {
+        Map<String, List<String>> edges = new HashMap<>();
+        for (String line : lines(11, 5, 16 << 10)) {
+            String[] parts = line.split(":");
+            List<String> to = List.of(parts[1].trim().split(" "));
+            assertEquals(null, edges.put(parts[0], to), "device " + parts[0] + " listed twice");
+        }
+        assertTrue(edges.containsKey("svr") && edges.containsKey("you"));
+        assertFalse(edges.containsKey("out"), "out has edges");
+
+        // Kahn's algorithm visits every device only if there is no cycle
+        Map<String, Integer> indegree = new HashMap<>();
+        Map<String, List<String>> reverse = new HashMap<>();
+        for (Map.Entry<String, List<String>> entry : edges.entrySet()) {
+            indegree.putIfAbsent(entry.getKey(), 0);
+            for (String to : entry.getValue()) {
+                indegree.merge(to, 1, Integer::sum);
+                reverse.computeIfAbsent(to, k -> new ArrayList<>()).add(entry.getKey());
+            }
+        }
+        Deque<String> ready = new ArrayDeque<>();
+        indegree.forEach((device, n) -> {
+            if (n == 0) {
+                ready.add(device);
+            }
+        });
+        int visited = 0;
+        while (!ready.isEmpty()) {
+            visited++;
+            for (String to : edges.getOrDefault(ready.poll(), List.of())) {
+                if (indegree.merge(to, -1, Integer::sum) == 0) {
+                    ready.add(to);
+                }
+            }
+        }
+        assertEquals(indegree.size(), visited, "graph has a cycle");
+
+        // walking the edges backwards from out finds every device
+        Set<String> reachesOut = new HashSet<>(List.of("out"));
+        Deque<String> queue = new ArrayDeque<>(reachesOut);
+        while (!queue.isEmpty()) {
+            for (String from : reverse.getOrDefault(queue.poll(), List.of())) {
+                if (reachesOut.add(from)) {
+                    queue.add(from);
+                }
+            }
+        }
+        assertEquals(indegree.keySet(), reachesOut);
+    }
+}
@@ -0,0 +1,105 @@
+package com.panagiotispetridis.regression;
+
+import com.panagiotispetridis.common.ByteReader;
+import com.panagiotispetridis.generator.Generators;
+import com.panagiotispetridis.runner.Day;
+import com.panagiotispetridis.runner.Days;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvFileSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Golden answers plus wall time and allocation budgets for every day, from budgets.csv.
+ *
+ * Each case is run once to warm up and then measured -Dregression.runs times (5 by default), and the
+ * medians are held against the budgets. Allocation is the JVM wide total, which keeps counting threads
+ * that have exited, so work done on pools (Day1, Day2, Day3 and Day4 on the common pool, Day12's
+ * virtual threads) counts too. Answers and allocation budgets always fail the test. Wall time depends on
+ * the machine the budgets were recorded on, so time budgets are scaled by -Dregression.timeScale, three by
+ * default, leaving room for slower machines while a several times slower day still fails. They can be
+ * turned off with -Dregression.timeBudgets=false, which is reported rather than silently passed.
+ */
+class RegressionTest {
+
+    static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    static final boolean TIME_BUDGETS = Boolean.parseBoolean(System.getProperty("regression.timeBudgets", "true"));
+
+    static final double TIME_SCALE = Double.parseDouble(System.getProperty("regression.timeScale", "3"));
+
+    static final int RUNS = Integer.parseInt(System.getProperty("regression.runs", "5"));
+
+    record Measurement(String answer, long millis, long allocatedBytes) {}
+
+    static long allocatedBytes() {
+        return THREADS.getTotalThreadAllocatedBytes();
+    }
+
+    static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        return sorted[sorted.length / 2];
+    }
+
+    // "bundled" or "gen:<seed>:<size>"
+    static byte[] input(Day day, String input) throws IOException {
+        if (input.startsWith("gen:")) {
+            String[] parts = input.split(":");
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            Generators.generate(day.number(), Long.parseLong(parts[1]), Generators.parseSize(parts[2]), out);
+            return out.toByteArray();
+        }
+        try (InputStream is = day.reader(null).stream()) {
+            return is.readAllBytes();
+        }
+    }
+
+    // one warm-up run, then the median time and allocation of runs measured runs, every answer must agree
+    static Measurement measure(Day day, boolean part2, byte[] raw, int runs) {
+        String answer = day.run(part2, ByteReader.of(raw)).answer();
+        long[] millis = new long[runs];
+        long[] allocated = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long bytes = allocatedBytes();
+            long start = System.nanoTime();
+            Day.Result result = day.run(part2, ByteReader.of(raw));
+            millis[i] = (System.nanoTime() - start) / 1_000_000;
+            allocated[i] = allocatedBytes() - bytes;
+            assertEquals(answer, result.answer(), "answer changed between runs");
+        }
+
+        return new Measurement(answer, median(millis), median(allocated));
+    }
+
+    @ParameterizedTest(name = "day {0} part {1} on {2}")
+    @CsvFileSource(resources = "/regression/budgets.csv", numLinesToSkip = 1)
+    void answerWithinBudget(int number, int part, String input, String answer, long maxMillis, long maxAllocatedBytes)
+            throws IOException {
+        Day day = Days.get(number);
+        Measurement measured = measure(day, part == 2, input(day, input), RUNS);
+
+        assertEquals(answer, measured.answer(), "wrong answer");
+        if (TIME_BUDGETS) {
+            long timeBudget = (long) (maxMillis * TIME_SCALE);
+            assertTrue(measured.millis() <= timeBudget, () -> String.format(
+                    "day %d part %d on %s took %d ms (median of %d), budget is %d ms",
+                    number, part, input, measured.millis(), RUNS, timeBudget));
+        } else {
+            System.err.printf("time budgets off: day %d part %d on %s took %d ms, recorded budget is %d ms%n",
+                    number, part, input, measured.millis(), maxMillis);
+        }
+        assertTrue(measured.allocatedBytes() <= maxAllocatedBytes, () -> String.format(
+                "day %d part %d on %s allocated %d bytes (median of %d), budget is %d bytes",
+                number, part, input, measured.allocatedBytes(), RUNS, maxAllocatedBytes));
+    }
+}
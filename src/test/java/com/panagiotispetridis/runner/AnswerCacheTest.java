@@ -0,0 +1,64 @@
+package com.panagiotispetridis.runner;
+
+import com.panagiotispetridis.common.ByteReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AnswerCacheTest {
+
+    // room for two one-character answers
+    static final long TWO_ENTRIES = 2 * AnswerCache.size("x");
+
+    static AnswerCache.Key key(String input) {
+        return AnswerCache.key(1, false, 1, ByteReader.of(input.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    static Path file() throws IOException {
+        Path file = Files.createTempFile("answers", ".cache");
+        Files.delete(file);
+        file.toFile().deleteOnExit();
+
+        return file;
+    }
+
+    @Test
+    void recencyFromHitsSurvivesReload() throws IOException {
+        Path file = file();
+        try (AnswerCache cache = AnswerCache.open(file, TWO_ENTRIES)) {
+            cache.put(key("a"), "1");
+            cache.put(key("b"), "2");
+        }
+        // a session with hits only
+        try (AnswerCache cache = AnswerCache.open(file, TWO_ENTRIES)) {
+            assertEquals("1", cache.get(key("a")));
+        }
+        try (AnswerCache cache = AnswerCache.open(file, TWO_ENTRIES)) {
+            cache.put(key("c"), "3");
+            assertEquals("1", cache.get(key("a")), "recently read entry was evicted");
+            assertEquals(null, cache.get(key("b")), "least recently used entry was kept");
+        }
+    }
+
+    @Test
+    void answerCachedBeforeVersionBumpIsNotServed() throws IOException {
+        Day day = Days.get(2);
+        assertTrue(day.puzzle().version() > 1);
+        try (AnswerCache cache = AnswerCache.open(file(), 1 << 20)) {
+            // what the cache held for the bundled input before overlapping ranges were merged
+            cache.put(AnswerCache.key(2, false, 1, day.reader(null)), "stale");
+
+            Day.Result result = day.run(false, null, cache);
+            assertFalse(result.cached(), "answer from an older solver version was served");
+            assertEquals("1227775554", result.answer());
+            assertEquals("1227775554", day.run(false, null, cache).answer());
+        }
+    }
+}
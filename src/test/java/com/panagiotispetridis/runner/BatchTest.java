@@ -0,0 +1,39 @@
+package com.panagiotispetridis.runner;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BatchTest {
+
+    @Test
+    void unknownOptionIsReportedAsOne() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> Batch.options(new String[]{"4", "inputs", "--thread", "8"}));
+        assertEquals("unknown option: --thread", e.getMessage());
+    }
+
+    @Test
+    void optionsAndPartsInAnyOrder() {
+        Batch.Options options = Batch.options(new String[]{"4", "inputs", "--threads", "3", "2", "--out", "a.csv"});
+
+        assertEquals(Days.get(4), options.day());
+        assertEquals(Path.of("inputs"), options.dir());
+        assertEquals(List.of(true), options.parts());
+        assertEquals(3, options.threads());
+        assertEquals(Path.of("a.csv"), options.out());
+        assertEquals(null, options.cacheFile());
+    }
+
+    @Test
+    void badArgumentsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> Batch.options(new String[]{"4"}));
+        assertThrows(IllegalArgumentException.class, () -> Batch.options(new String[]{"4", "inputs", "--out"}));
+        assertThrows(IllegalArgumentException.class, () -> Batch.options(new String[]{"4", "inputs", "--threads", "0"}));
+        assertThrows(IllegalArgumentException.class, () -> Batch.options(new String[]{"4", "inputs", "3"}));
+    }
+}
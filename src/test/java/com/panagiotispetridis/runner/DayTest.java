@@ -0,0 +1,48 @@
+package com.panagiotispetridis.runner;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DayTest {
+
+    static final List<String> ROTATIONS = List.of("L68", "L30", "R48", "L5", "R60", "L55", "L1", "L99", "R14", "L82");
+
+    static Path file(List<String> lines) throws IOException {
+        Path file = Files.createTempFile("day1", ".in");
+        file.toFile().deleteOnExit();
+        Files.writeString(file, String.join("\n", lines) + "\n", StandardCharsets.US_ASCII);
+
+        return file;
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void streamReportsRunningAnswerEveryNRecords(boolean part2) throws IOException {
+        Day day = Days.get(1);
+        List<Long> records = new ArrayList<>();
+        List<String> answers = new ArrayList<>();
+
+        Day.Result result = day.stream(part2, file(ROTATIONS), 3, (answer, seen) -> {
+            answers.add(answer);
+            records.add(seen);
+        });
+
+        assertEquals(List.of(3L, 6L, 9L), records);
+        for (int i = 0; i < records.size(); i++) {
+            Path prefix = file(ROTATIONS.subList(0, records.get(i).intValue()));
+            assertEquals(day.stream(part2, prefix).answer(), answers.get(i), "answer after " + records.get(i));
+        }
+        Path whole = file(ROTATIONS);
+        assertEquals(day.stream(part2, whole).answer(), result.answer());
+        assertEquals(day.run(part2, whole).answer(), result.answer());
+    }
+}
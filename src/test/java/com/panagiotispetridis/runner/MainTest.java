@@ -0,0 +1,50 @@
+package com.panagiotispetridis.runner;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MainTest {
+
+    @Test
+    void everyWithoutStreamIsRejected() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> Main.options(new String[]{"--every", "100", "1", "1"}));
+        assertTrue(e.getMessage().contains("--stream"), e.getMessage());
+    }
+
+    @Test
+    void everyWithStreamIsKept() {
+        Main.Options options = Main.options(new String[]{"--stream", "--every", "100", "1", "2", "in.txt"});
+
+        assertTrue(options.stream());
+        assertEquals(100L, options.every());
+        assertEquals(List.of(Days.get(1)), options.days());
+        assertEquals(List.of(true), options.parts());
+        assertEquals(Path.of("in.txt"), options.input());
+    }
+
+    @Test
+    void defaultsToEveryDayAndBothParts() {
+        Main.Options options = Main.options(new String[0]);
+
+        assertEquals(Days.ALL, options.days());
+        assertEquals(List.of(false, true), options.parts());
+        assertEquals(0L, options.every());
+    }
+
+    @Test
+    void badArgumentsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> Main.options(new String[]{"--fast"}));
+        assertThrows(IllegalArgumentException.class, () -> Main.options(new String[]{"--stream", "--every"}));
+        assertThrows(IllegalArgumentException.class, () -> Main.options(new String[]{"--stream", "--every", "0"}));
+        assertThrows(IllegalArgumentException.class, () -> Main.options(new String[]{"1,2", "1", "in.txt"}));
+        assertThrows(IllegalArgumentException.class, () -> Main.options(new String[]{"1", "both", "-"}));
+        assertThrows(IllegalArgumentException.class, () -> Main.options(new String[]{"1", "3"}));
+    }
+}